@@ -4,11 +4,14 @@ import dev.mariany.genesis.advancement.criterion.GenesisCriteria;
 import dev.mariany.genesis.block.GenesisBlocks;
 import dev.mariany.genesis.block.custom.cauldron.PrimitiveCauldronBehavior;
 import dev.mariany.genesis.block.entity.GenesisBlockEntities;
+import dev.mariany.genesis.block.entity.custom.KilnTickService;
 import dev.mariany.genesis.config.ConfigHandler;
 import dev.mariany.genesis.entity.GenesisEntities;
 import dev.mariany.genesis.event.item.ModifyItemComponentsHandler;
 import dev.mariany.genesis.item.GenesisItems;
 import dev.mariany.genesis.loot.LootTableModifiers;
+import dev.mariany.genesis.network.GenesisNetworking;
+import dev.mariany.genesis.recipe.GenesisRecipeSerializers;
 import dev.mariany.genesis.recipe.GenesisRecipeTypes;
 import dev.mariany.genesis.recipe.brew.GenesisBrewingRecipes;
 import dev.mariany.genesis.recipe.display.AssemblyCraftingRecipeDisplay;
@@ -43,6 +46,7 @@ public class Genesis implements ModInitializer {
         GenesisScreenHandlers.bootstrap();
         GenesisBlocks.bootstrap();
         GenesisBlockEntities.bootstrap();
+        KilnTickService.bootstrap();
         GenesisEntities.bootstrap();
         GenesisEntitySpawns.addSpawns();
         PrimitiveCauldronBehavior.registerBehavior();
@@ -55,6 +59,8 @@ public class Genesis implements ModInitializer {
         GenesisTradeOffers.registerVillagerOffers();
 
         GenesisRecipeTypes.bootstrap();
+        GenesisRecipeSerializers.bootstrap();
+        GenesisNetworking.bootstrap();
         bootstrapRecipeDisplay();
     }
 
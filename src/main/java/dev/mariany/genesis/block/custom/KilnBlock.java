@@ -1,14 +1,11 @@
 package dev.mariany.genesis.block.custom;
 
 import com.mojang.serialization.MapCodec;
-import dev.mariany.genesis.block.entity.GenesisBlockEntities;
 import dev.mariany.genesis.block.entity.custom.KilnBlockEntity;
 import dev.mariany.genesis.stat.GenesisStats;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.BlockWithEntity;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.block.entity.BlockEntityTicker;
-import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.screen.NamedScreenHandlerFactory;
 import net.minecraft.screen.ScreenHandler;
@@ -17,8 +14,11 @@ import net.minecraft.util.ActionResult;
 import net.minecraft.util.ItemScatterer;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
-import org.jetbrains.annotations.Nullable;
+import net.minecraft.world.WorldView;
+import net.minecraft.world.tick.ScheduledTickView;
 
 public class KilnBlock extends BlockWithEntity {
     public static final MapCodec<KilnBlock> CODEC = createCodec(KilnBlock::new);
@@ -37,12 +37,6 @@ public class KilnBlock extends BlockWithEntity {
         return new KilnBlockEntity(pos, state);
     }
 
-    @Nullable
-    @Override
-    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
-        return validateTicker(world, type);
-    }
-
     @Override
     protected ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, BlockHitResult hit) {
         if (!world.isClient) {
@@ -54,12 +48,34 @@ public class KilnBlock extends BlockWithEntity {
 
     protected void openScreen(World world, BlockPos pos, PlayerEntity player) {
         BlockEntity blockEntity = world.getBlockEntity(pos);
-        if (blockEntity instanceof KilnBlockEntity) {
+        if (blockEntity instanceof KilnBlockEntity kilnBlockEntity) {
+            kilnBlockEntity.wake();
             player.openHandledScreen((NamedScreenHandlerFactory) blockEntity);
             player.incrementStat(GenesisStats.INTERACT_WITH_KILN);
         }
     }
 
+    @Override
+    protected BlockState getStateForNeighborUpdate(
+            BlockState state,
+            WorldView world,
+            ScheduledTickView tickView,
+            BlockPos pos,
+            Direction direction,
+            BlockPos neighborPos,
+            BlockState neighborState,
+            Random random
+    ) {
+        // Worldgen passes a ChunkRegion here; kilns placed there read their heat source lazily
+        if (direction == Direction.DOWN && world instanceof ServerWorld) {
+            if (world.getBlockEntity(pos) instanceof KilnBlockEntity kilnBlockEntity) {
+                kilnBlockEntity.onHeatSourceChanged(neighborState);
+            }
+        }
+
+        return super.getStateForNeighborUpdate(state, world, tickView, pos, direction, neighborPos, neighborState, random);
+    }
+
     @Override
     protected void onStateReplaced(BlockState state, ServerWorld world, BlockPos pos, boolean moved) {
         ItemScatterer.onStateReplaced(state, world, pos);
@@ -74,13 +90,4 @@ public class KilnBlock extends BlockWithEntity {
     protected int getComparatorOutput(BlockState state, World world, BlockPos pos) {
         return ScreenHandler.calculateComparatorOutput(world.getBlockEntity(pos));
     }
-
-    @Nullable
-    protected static <T extends BlockEntity> BlockEntityTicker<T> validateTicker(
-            World world, BlockEntityType<T> givenType
-    ) {
-        return world instanceof ServerWorld serverWorld
-                ? validateTicker(givenType, (BlockEntityType<? extends KilnBlockEntity>) GenesisBlockEntities.KILN, (worldx, pos, state, blockEntity) -> KilnBlockEntity.tick(serverWorld, pos, state, blockEntity))
-                : null;
-    }
 }
@@ -5,6 +5,7 @@ import dev.mariany.genesis.block.GenesisBlocks;
 import dev.mariany.genesis.block.entity.custom.FilledPrimitiveCauldronBlockEntity;
 import dev.mariany.genesis.block.entity.custom.KilnBlockEntity;
 import net.fabricmc.fabric.api.object.builder.v1.block.entity.FabricBlockEntityTypeBuilder;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
@@ -29,5 +30,7 @@ public class GenesisBlockEntities {
 
     public static void bootstrap() {
         Genesis.LOGGER.info("Registering Block Entities for " + Genesis.MOD_ID);
+
+        ItemStorage.SIDED.registerForBlockEntity((kiln, direction) -> kiln.getItemStorage().getSide(direction), KILN);
     }
 }
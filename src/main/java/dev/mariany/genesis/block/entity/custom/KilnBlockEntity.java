@@ -1,11 +1,12 @@
 package dev.mariany.genesis.block.entity.custom;
 
-import com.google.common.collect.Lists;
 import com.mojang.serialization.Codec;
 import dev.mariany.genesis.block.entity.GenesisBlockEntities;
+import dev.mariany.genesis.config.ConfigHandler;
+import dev.mariany.genesis.recipe.KilnRecipeTable;
 import dev.mariany.genesis.screen.KilnScreenHandler;
-import it.unimi.dsi.fastutil.objects.Reference2IntMap;
-import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.minecraft.block.*;
 import net.minecraft.block.entity.LockableContainerBlockEntity;
 import net.minecraft.entity.ExperienceOrbEntity;
@@ -13,10 +14,10 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.Inventories;
 import net.minecraft.inventory.SidedInventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.recipe.*;
-import net.minecraft.recipe.input.SingleStackRecipeInput;
-import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.screen.PropertyDelegate;
 import net.minecraft.screen.ScreenHandler;
@@ -32,26 +33,46 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public class KilnBlockEntity extends LockableContainerBlockEntity implements RecipeUnlocker, RecipeInputProvider, SidedInventory {
-    private static final Codec<Map<RegistryKey<Recipe<?>>, Integer>> CODEC = Codec.unboundedMap(Recipe.KEY_CODEC, Codec.INT);
+    private static final Codec<List<RegistryKey<Recipe<?>>>> CODEC = Recipe.KEY_CODEC.listOf();
+    private static final Codec<Map<RegistryKey<Recipe<?>>, Integer>> LEGACY_CODEC = Codec.unboundedMap(Recipe.KEY_CODEC, Codec.INT);
 
     private static final int DEFAULT_COOK_SECONDS = 45;
-    private static final int DEFAULT_COOK_TICKS = DEFAULT_COOK_SECONDS * 20;
+    public static final int DEFAULT_COOK_TICKS = DEFAULT_COOK_SECONDS * 20;
 
-    private final ServerRecipeManager.MatchGetter<SingleStackRecipeInput, ? extends AbstractCookingRecipe> matchGetter;
-    private final Reference2IntOpenHashMap<RegistryKey<Recipe<?>>> recipesUsed = new Reference2IntOpenHashMap<>();
+    private static final int[] SIDE_SLOTS = new int[]{0};
+    private static final int[] BOTTOM_SLOTS = new int[]{1};
+
+    private final ObjectArrayList<RegistryKey<Recipe<?>>> recipesUsed = new ObjectArrayList<>();
+    private Map<RegistryKey<Recipe<?>>, Integer> legacyRecipesUsed = Map.of();
+    private float experience;
     protected DefaultedList<ItemStack> inventory = DefaultedList.ofSize(2, ItemStack.EMPTY);
     int cookingTimeSpent;
     int cookingTotalTime;
+    private int cookingBatchSize = 1;
+    private long progressTime;
+    private int progressRate;
+    private long savedTime = -1L;
+    int tickIndex = -1;
+    private boolean lit;
+    private boolean heatKnown;
+    @Nullable
+    private KilnItemStorage itemStorage;
+    @Nullable
+    private KilnRecipeTable testedTable;
+    private ItemStack testedInput = ItemStack.EMPTY;
+    @Nullable
+    private KilnRecipeTable.Entry testedRecipe;
 
     protected final PropertyDelegate propertyDelegate = new PropertyDelegate() {
         @Override
         public int get(int index) {
             return switch (index) {
-                case 0 -> KilnBlockEntity.this.cookingTimeSpent;
+                case 0 -> KilnBlockEntity.this.getCookingTimeSpent();
                 case 1 -> KilnBlockEntity.this.cookingTotalTime;
                 case 2 -> KilnBlockEntity.this.isLit() ? 1 : 0;
                 default -> 0;
@@ -63,6 +84,7 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
             switch (index) {
                 case 0:
                     KilnBlockEntity.this.cookingTimeSpent = value;
+                    KilnBlockEntity.this.progressRate = 0;
                     break;
                 case 1:
                     KilnBlockEntity.this.cookingTotalTime = value;
@@ -78,7 +100,6 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
 
     public KilnBlockEntity(BlockPos pos, BlockState state) {
         super(GenesisBlockEntities.KILN, pos, state);
-        this.matchGetter = ServerRecipeManager.createCachedMatchGetter(RecipeType.SMELTING);
     }
 
     @Override
@@ -113,14 +134,31 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
 
         this.inventory.set(slot, stack);
         stack.capCount(this.getMaxCount(stack));
+        this.wake();
 
-        if (slot == 0 && !isSameItemType && this.world instanceof ServerWorld serverWorld) {
-            this.cookingTotalTime = getCookTime(serverWorld, this);
-            this.cookingTimeSpent = 0;
+        if (slot == 0 && !isSameItemType) {
+            this.resetCooking();
             this.markDirty();
         }
     }
 
+    /**
+     * Starts the cooking cycle over for a new input.
+     */
+    void resetCooking() {
+        if (this.world instanceof ServerWorld serverWorld) {
+            this.planBatch();
+            this.setProgress(serverWorld.getTime(), 0, 0);
+        }
+    }
+
+    @Override
+    public void markDirty() {
+        super.markDirty();
+        // Slot extraction goes through removeStack, which only reports back via markDirty
+        this.wake();
+    }
+
     @Override
     public boolean isValid(int slot, ItemStack stack) {
         return slot == 0;
@@ -143,9 +181,20 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
 
     @Override
     public void setLastRecipe(@Nullable RecipeEntry<?> recipe) {
-        if (recipe != null) {
-            RegistryKey<Recipe<?>> registryKey = recipe.id();
-            this.recipesUsed.addTo(registryKey, 1);
+        this.addRecipeUsed(recipe, 1);
+    }
+
+    /**
+     * Banks the experience of {@code count} crafts right away, so only the distinct recipes have
+     * to be remembered for unlocking once a player collects the output.
+     */
+    private void addRecipeUsed(@Nullable RecipeEntry<?> recipe, int count) {
+        if (recipe != null && count > 0 && recipe.value() instanceof AbstractCookingRecipe cookingRecipe) {
+            this.experience += count * cookingRecipe.getExperience();
+
+            if (!this.recipesUsed.contains(recipe.id())) {
+                this.recipesUsed.add(recipe.id());
+            }
         }
     }
 
@@ -172,20 +221,25 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
     }
 
     private List<RecipeEntry<?>> getRecipesUsedAndDropExperience(ServerWorld world, Vec3d pos) {
-        List<RecipeEntry<?>> usedRecipes = Lists.<RecipeEntry<?>>newArrayList();
+        ServerRecipeManager recipeManager = world.getRecipeManager();
+
+        // Kilns saved before the experience was banked at craft time still carry usage counts
+        this.legacyRecipesUsed.forEach((key, count) -> recipeManager.get(key).ifPresent(recipe -> this.addRecipeUsed(recipe, count)));
+        this.legacyRecipesUsed = Map.of();
 
-        for (Reference2IntMap.Entry<RegistryKey<Recipe<?>>> recipeUsageEntry : this.recipesUsed.reference2IntEntrySet()) {
-            world.getRecipeManager().get(recipeUsageEntry.getKey()).ifPresent(recipe -> {
-                usedRecipes.add(recipe);
-                dropExperience(world, pos, recipeUsageEntry.getIntValue(), ((AbstractCookingRecipe) recipe.value()).getExperience());
-            });
+        List<RecipeEntry<?>> usedRecipes = new ArrayList<>(this.recipesUsed.size());
+
+        for (RegistryKey<Recipe<?>> key : this.recipesUsed) {
+            recipeManager.get(key).ifPresent(usedRecipes::add);
         }
 
+        dropExperience(world, pos, this.experience);
+        this.experience = 0;
+
         return usedRecipes;
     }
 
-    private static void dropExperience(ServerWorld world, Vec3d pos, int multiplier, float baseExperience) {
-        float totalExperience = multiplier * baseExperience;
+    private static void dropExperience(ServerWorld world, Vec3d pos, float totalExperience) {
         int experienceToDrop = MathHelper.floor(totalExperience);
         float fractionalPart = MathHelper.fractionalPart(totalExperience);
 
@@ -193,7 +247,9 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
             experienceToDrop++;
         }
 
-        ExperienceOrbEntity.spawn(world, pos, experienceToDrop);
+        if (experienceToDrop > 0) {
+            ExperienceOrbEntity.spawn(world, pos, experienceToDrop);
+        }
     }
 
     @Override
@@ -203,93 +259,237 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
         Inventories.readData(view, this.inventory);
         this.cookingTimeSpent = view.getShort("cooking_time_spent", (short) 0);
         this.cookingTotalTime = view.getShort("cooking_total_time", (short) 0);
+        this.cookingBatchSize = Math.max(view.getShort("cooking_batch_size", (short) 1), 1);
+        this.experience = view.getFloat("experience", 0);
         this.recipesUsed.clear();
-        this.recipesUsed.putAll(view.read("RecipesUsed", CODEC).orElse(Map.of()));
+        this.recipesUsed.addAll(view.read("recipes_used", CODEC).orElse(List.of()));
+        this.legacyRecipesUsed = view.read("RecipesUsed", LEGACY_CODEC).orElse(Map.of());
+    }
+
+    /**
+     * Only a kiln loaded with its chunk has been away. saved_time is left out of {@link #readData}
+     * so data read onto a kiln from anywhere else (structure templates, pick block, commands)
+     * does not catch up for as long as that copy existed.
+     */
+    public void readSavedTime(NbtCompound nbt) {
+        this.savedTime = nbt.getLong("saved_time", -1L);
     }
 
     @Override
     protected void writeData(WriteView view) {
         super.writeData(view);
-        view.putShort("cooking_time_spent", (short) this.cookingTimeSpent);
+        view.putShort("cooking_time_spent", (short) this.getCookingTimeSpent());
         view.putShort("cooking_total_time", (short) this.cookingTotalTime);
+        view.putShort("cooking_batch_size", (short) this.cookingBatchSize);
+
+        if (this.world != null) {
+            view.putLong("saved_time", this.world.getTime());
+        }
+
         Inventories.writeData(view, this.inventory);
-        view.put("RecipesUsed", CODEC, this.recipesUsed);
+        view.putFloat("experience", this.experience);
+        view.put("recipes_used", CODEC, this.recipesUsed);
+
+        if (!this.legacyRecipesUsed.isEmpty()) {
+            view.put("RecipesUsed", LEGACY_CODEC, this.legacyRecipesUsed);
+        }
     }
 
-    //region Prevent Hopper Usage
+    //region Automation
     @Override
     public int[] getAvailableSlots(Direction side) {
-        return new int[0];
+        return side == Direction.DOWN ? BOTTOM_SLOTS : SIDE_SLOTS;
     }
 
     @Override
     public boolean canInsert(int slot, ItemStack stack, @Nullable Direction dir) {
-        return false;
+        return slot == 0 && this.canAcceptInput(stack);
     }
 
     @Override
     public boolean canExtract(int slot, ItemStack stack, Direction dir) {
-        return false;
+        return slot == 1;
+    }
+
+    /**
+     * Whether at least one more of {@code stack} fits into the input.
+     * Cheap enough to be polled by hoppers every transfer attempt.
+     */
+    public boolean canAcceptInput(ItemStack stack) {
+        if (!KilnRecipeTable.getInstance().isSmeltable(stack)) {
+            return false;
+        }
+
+        ItemStack inputStack = this.inventory.getFirst();
+
+        if (inputStack.isEmpty()) {
+            return true;
+        }
+
+        return ItemStack.areItemsAndComponentsEqual(inputStack, stack) && inputStack.getCount() < this.getMaxCount(inputStack);
+    }
+
+    /**
+     * {@link #canAcceptInput(ItemStack)} for transfer variants. Only builds a stack when the item
+     * has no plain recipe and a recipe has to test its components.
+     */
+    public boolean canAcceptInput(ItemVariant variant) {
+        KilnRecipeTable table = KilnRecipeTable.getInstance();
+        Item item = variant.getItem();
+
+        if (!table.isSmeltable(item) && !(table.requiresTesting(item) && table.isSmeltable(variant.toStack()))) {
+            return false;
+        }
+
+        ItemStack inputStack = this.inventory.getFirst();
+
+        if (inputStack.isEmpty()) {
+            return true;
+        }
+
+        return variant.matches(inputStack) && inputStack.getCount() < this.getMaxCount(inputStack);
+    }
+
+    public KilnItemStorage getItemStorage() {
+        if (this.itemStorage == null) {
+            this.itemStorage = new KilnItemStorage(this);
+        }
+
+        return this.itemStorage;
     }
     //endregion
 
     private boolean isLit() {
-        if (this.world != null) {
-            BlockState belowState = this.world.getBlockState(this.pos.down());
-            Block belowBlock = belowState.getBlock();
+        if (!this.heatKnown && this.world != null) {
+            this.lit = isHeatSource(this.world.getBlockState(this.pos.down()));
+            this.heatKnown = true;
+        }
 
-            if (belowBlock instanceof AbstractFireBlock) {
-                return true;
-            }
+        return this.lit;
+    }
 
-            return belowBlock instanceof CampfireBlock && belowState.get(CampfireBlock.LIT, false);
+    /**
+     * Called by {@link dev.mariany.genesis.block.custom.KilnBlock} when the block below changes,
+     * so the heat source never has to be polled.
+     */
+    public void onHeatSourceChanged(BlockState belowState) {
+        boolean lit = isHeatSource(belowState);
+
+        if (!this.heatKnown || lit != this.lit) {
+            this.lit = lit;
+            this.heatKnown = true;
+            this.wake();
         }
+    }
 
-        return false;
+    private static boolean isHeatSource(BlockState state) {
+        Block block = state.getBlock();
+
+        if (block instanceof AbstractFireBlock) {
+            return true;
+        }
+
+        return block instanceof CampfireBlock && state.get(CampfireBlock.LIT, false);
+    }
+
+    /**
+     * Re-evaluates the kiln at the end of the current world tick. Called whenever something that
+     * could change how it progresses changes: its inventory, the block below it or a player
+     * opening the screen.
+     */
+    public void wake() {
+        // Neighbor updates also run during worldgen off the server thread; those kilns are woken
+        // once their chunk loads instead
+        if (this.world instanceof ServerWorld serverWorld && serverWorld.getServer().isOnThread()) {
+            KilnTickService.get(serverWorld).wake(this);
+        }
     }
 
-    public static void tick(ServerWorld world, BlockPos pos, BlockState state, KilnBlockEntity kiln) {
+    /**
+     * Cooking progress is stored as a snapshot taken at {@link #progressTime} that moves by
+     * {@link #progressRate} every world tick afterward, so it can be derived at any time
+     * without ticking the kiln.
+     */
+    private int getCookingTimeSpent() {
+        if (this.progressRate == 0 || this.world == null) {
+            return this.cookingTimeSpent;
+        }
+
+        long elapsed = this.world.getTime() - this.progressTime;
+        long progress = this.cookingTimeSpent + elapsed * this.progressRate;
+
+        return (int) MathHelper.clamp(progress, 0L, this.cookingTotalTime);
+    }
+
+    private void setProgress(long time, int timeSpent, int rate) {
+        this.progressTime = time;
+        this.cookingTimeSpent = timeSpent;
+        this.progressRate = rate;
+    }
+
+    /**
+     * Settles the progress accumulated since the last update, finishes the current item if it is
+     * due and decides how progress moves from now on. While cooking, the kiln is tracked by the
+     * {@link KilnTickService} until the item completes.
+     */
+    static void update(ServerWorld world, BlockPos pos, BlockState state, KilnBlockEntity kiln) {
+        long time = world.getTime();
         boolean stateChanged = false;
 
+        kiln.setProgress(time, kiln.getCookingTimeSpent(), 0);
+
+        if (kiln.savedTime >= 0) {
+            long elapsed = time - kiln.savedTime;
+            kiln.savedTime = -1L;
+
+            if (elapsed > 0 && ConfigHandler.getConfig().kilnOfflineProgress) {
+                stateChanged = catchUp(kiln, elapsed);
+            }
+        }
+
         ItemStack inputStack = kiln.inventory.getFirst();
 
         boolean hasInput = !inputStack.isEmpty();
+        boolean isLit = kiln.isLit();
 
-        if (kiln.isLit() && hasInput) {
-            SingleStackRecipeInput recipeInput = new SingleStackRecipeInput(inputStack);
-            RecipeEntry<? extends AbstractCookingRecipe> recipeEntry = kiln.matchGetter
-                    .getFirstMatch(recipeInput, world)
-                    .orElse(null);
-
+        if (isLit && hasInput) {
+            KilnRecipeTable.Entry recipe = kiln.getRecipe();
             int maxStackSize = kiln.getMaxCountPerStack();
 
-            if (
-                    canAcceptRecipeOutput(
-                            world.getRegistryManager(),
-                            recipeEntry,
-                            recipeInput,
-                            kiln.inventory,
-                            maxStackSize
-                    )
-            ) {
-                kiln.cookingTimeSpent++;
+            if (canAcceptRecipeOutput(recipe, kiln.inventory, maxStackSize)) {
+                if (kiln.cookingTimeSpent == 0) {
+                    // Nothing cooked yet, so the batch can still grow with whatever was added
+                    kiln.planBatch();
+                }
 
                 if (kiln.cookingTimeSpent >= kiln.cookingTotalTime) {
-                    kiln.cookingTimeSpent = 0;
-                    kiln.cookingTotalTime = getCookTime(world, kiln);
+                    int crafted = getCraftableCount(recipe, kiln.inventory, maxStackSize, kiln.cookingBatchSize);
 
-                    if (craftRecipe(world.getRegistryManager(), recipeEntry, recipeInput, kiln.inventory, maxStackSize)) {
-                        kiln.setLastRecipe(recipeEntry);
-                    }
+                    craftRecipe(recipe, kiln.inventory, crafted);
+                    kiln.addRecipeUsed(recipe.recipe(), crafted);
+                    kiln.cookingTimeSpent = 0;
+                    kiln.planBatch();
 
                     stateChanged = true;
                 }
+
+                if (canAcceptRecipeOutput(recipe, kiln.inventory, maxStackSize)) {
+                    kiln.progressRate = 1;
+                }
             } else {
                 kiln.cookingTimeSpent = 0;
             }
         } else if (kiln.cookingTimeSpent > 0) {
             // Cooling down if no heat source
-            kiln.cookingTimeSpent = MathHelper.clamp(kiln.cookingTimeSpent - 2, 0, kiln.cookingTotalTime);
+            kiln.progressRate = -2;
+        }
+
+        KilnTickService service = KilnTickService.get(world);
+
+        if (kiln.progressRate > 0) {
+            service.track(kiln, time - kiln.cookingTimeSpent, kiln.cookingTotalTime);
+        } else {
+            service.untrack(kiln);
         }
 
         if (stateChanged) {
@@ -297,18 +497,56 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
         }
     }
 
+    /**
+     * Applies everything the kiln would have done while its chunk was unloaded. The block below
+     * cannot change while the chunk is unloaded, so the current heat state held for the whole
+     * window and the number of finished items follows directly from the elapsed time.
+     */
+    private static boolean catchUp(KilnBlockEntity kiln, long elapsed) {
+        if (!kiln.isLit()) {
+            kiln.cookingTimeSpent = (int) Math.max(kiln.cookingTimeSpent - elapsed * 2, 0L);
+            return false;
+        }
+
+        KilnRecipeTable.Entry recipe = kiln.getRecipe();
+        int maxStackSize = kiln.getMaxCountPerStack();
+
+        if (!canAcceptRecipeOutput(recipe, kiln.inventory, maxStackSize)) {
+            return false;
+        }
+
+        long progress = kiln.cookingTimeSpent + elapsed;
+
+        if (progress < kiln.cookingTotalTime) {
+            kiln.cookingTimeSpent = (int) progress;
+            return false;
+        }
+
+        // Every cycle after the current one runs a full batch; a short final batch is rounded up
+        int batchSize = getMaxBatchSize();
+        int batchCookTime = getBatchCookTime(recipe.cookTime(), batchSize);
+        long overflow = progress - kiln.cookingTotalTime;
+        long finished = kiln.cookingBatchSize + overflow / batchCookTime * batchSize;
+        int crafted = getCraftableCount(recipe, kiln.inventory, maxStackSize, (int) Math.min(finished, Integer.MAX_VALUE));
+
+        craftRecipe(recipe, kiln.inventory, crafted);
+        kiln.addRecipeUsed(recipe.recipe(), crafted);
+
+        kiln.planBatch();
+        kiln.cookingTimeSpent = crafted < finished ? 0 : (int) Math.min(overflow % batchCookTime, kiln.cookingTotalTime);
+
+        return true;
+    }
 
     private static boolean canAcceptRecipeOutput(
-            DynamicRegistryManager dynamicRegistryManager,
-            @Nullable RecipeEntry<? extends AbstractCookingRecipe> recipe,
-            SingleStackRecipeInput input,
+            @Nullable KilnRecipeTable.Entry recipe,
             DefaultedList<ItemStack> inventory,
             int maxCount
     ) {
         ItemStack inputStack = inventory.get(0);
 
         if (!inputStack.isEmpty() && recipe != null) {
-            ItemStack itemStack = recipe.value().craft(input, dynamicRegistryManager);
+            ItemStack itemStack = recipe.output();
 
             if (itemStack.isEmpty()) {
                 return false;
@@ -330,39 +568,91 @@ public class KilnBlockEntity extends LockableContainerBlockEntity implements Rec
         return false;
     }
 
-    private static boolean craftRecipe(
-            DynamicRegistryManager dynamicRegistryManager,
-            @Nullable RecipeEntry<? extends AbstractCookingRecipe> recipe,
-            SingleStackRecipeInput input,
-            DefaultedList<ItemStack> inventory,
-            int maxCount
-    ) {
-        if (recipe != null && canAcceptRecipeOutput(dynamicRegistryManager, recipe, input, inventory, maxCount)) {
-            ItemStack inputStack = inventory.get(0);
-            ItemStack smeltToStack = recipe.value().craft(input, dynamicRegistryManager);
-            ItemStack outputStack = inventory.get(1);
+    /**
+     * Crafts {@code count} items at once, exactly as {@code count} single crafts would.
+     * The caller is responsible for limiting {@code count} through {@link #getCraftableCount}.
+     */
+    private static void craftRecipe(KilnRecipeTable.Entry recipe, DefaultedList<ItemStack> inventory, int count) {
+        ItemStack inputStack = inventory.get(0);
+        ItemStack smeltToStack = recipe.output();
+        ItemStack outputStack = inventory.get(1);
 
-            if (outputStack.isEmpty()) {
-                inventory.set(1, smeltToStack.copy());
-            } else if (ItemStack.areItemsAndComponentsEqual(outputStack, smeltToStack)) {
-                outputStack.increment(1);
-            }
+        if (outputStack.isEmpty()) {
+            inventory.set(1, smeltToStack.copyWithCount(smeltToStack.getCount() + count - 1));
+        } else if (ItemStack.areItemsAndComponentsEqual(outputStack, smeltToStack)) {
+            outputStack.increment(count);
+        }
 
-            inputStack.decrement(1);
+        inputStack.decrement(count);
+    }
 
-            return true;
+    private static int getCraftableCount(KilnRecipeTable.Entry recipe, DefaultedList<ItemStack> inventory, int maxCount, int requested) {
+        ItemStack outputStack = inventory.get(1);
+        ItemStack smeltToStack = recipe.output();
+        int limit = Math.min(maxCount, smeltToStack.getMaxCount());
+        int room = outputStack.isEmpty() ? limit - smeltToStack.getCount() + 1 : limit - outputStack.getCount();
+
+        return MathHelper.clamp(Math.min(requested, inventory.get(0).getCount()), 0, room);
+    }
+
+    /**
+     * Plain recipes are a map lookup in the table. Recipes that have to test the whole stack
+     * craft a new output on every match, so the last one is kept until the input's item or
+     * components change.
+     */
+    @Nullable
+    private KilnRecipeTable.Entry getRecipe() {
+        ItemStack inputStack = this.inventory.getFirst();
+
+        if (inputStack.isEmpty()) {
+            return null;
         }
 
-        return false;
+        KilnRecipeTable table = KilnRecipeTable.getInstance();
+
+        if (!table.requiresTesting(inputStack.getItem())) {
+            return table.get(inputStack);
+        }
+
+        if (table != this.testedTable || !ItemStack.areItemsAndComponentsEqual(inputStack, this.testedInput)) {
+            this.testedTable = table;
+            this.testedInput = inputStack.copyWithCount(1);
+            this.testedRecipe = table.get(inputStack);
+        }
+
+        return this.testedRecipe;
     }
 
-    private static int getCookTime(ServerWorld world, KilnBlockEntity kiln) {
-        SingleStackRecipeInput singleStackRecipeInput = new SingleStackRecipeInput(kiln.getStack(0));
-        int cookTime = kiln.matchGetter
-                .getFirstMatch(singleStackRecipeInput, world)
-                .map(recipe -> recipe.value().getCookingTime())
-                .orElse(DEFAULT_COOK_TICKS);
+    /**
+     * Sizes the next cycle to as many items as the input and output allow, up to the configured
+     * batch size, and derives its cook time from that.
+     */
+    private void planBatch() {
+        KilnRecipeTable.Entry recipe = this.getRecipe();
+        int batchSize = 1;
+        int cookTime = DEFAULT_COOK_TICKS;
+
+        if (recipe != null) {
+            batchSize = Math.max(getCraftableCount(recipe, this.inventory, this.getMaxCountPerStack(), getMaxBatchSize()), 1);
+            cookTime = recipe.cookTime();
+        }
+
+        this.cookingBatchSize = batchSize;
+        this.cookingTotalTime = getBatchCookTime(cookTime, batchSize);
+    }
+
+    private static int getMaxBatchSize() {
+        return Math.max(ConfigHandler.getConfig().kilnBatchSize, 1);
+    }
+
+    /**
+     * A batch takes longer than a single item, but only by the square root of its size.
+     */
+    private static int getBatchCookTime(int cookTime, int batchSize) {
+        if (batchSize <= 1) {
+            return cookTime;
+        }
 
-        return Math.max(cookTime, DEFAULT_COOK_TICKS);
+        return (int) Math.min(Math.ceil(cookTime * Math.sqrt(batchSize)), Short.MAX_VALUE);
     }
 }
@@ -0,0 +1,95 @@
+package dev.mariany.genesis.block.entity.custom;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleStackStorage;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Transfer API view of a kiln, so pipes and hoppers can move whole stacks in one transaction.
+ * Items go in from the top and sides and cooked items come out of the bottom, like a furnace.
+ */
+public class KilnItemStorage {
+    private final KilnBlockEntity kiln;
+    private final InputStorage input = new InputStorage();
+    private final OutputStorage output = new OutputStorage();
+    private final Storage<ItemVariant> combined = new CombinedStorage<>(List.of(this.input, this.output));
+
+    public KilnItemStorage(KilnBlockEntity kiln) {
+        this.kiln = kiln;
+    }
+
+    public Storage<ItemVariant> getSide(@Nullable Direction side) {
+        if (side == null) {
+            return this.combined;
+        }
+
+        return side == Direction.DOWN ? this.output : this.input;
+    }
+
+    private class InputStorage extends SingleStackStorage {
+        private boolean filled;
+
+        @Override
+        protected ItemStack getStack() {
+            return KilnItemStorage.this.kiln.inventory.get(0);
+        }
+
+        @Override
+        protected void setStack(ItemStack stack) {
+            // Rollbacks go through here too, so only remember the latest empty/filled transition
+            if (this.getStack().isEmpty() != stack.isEmpty()) {
+                this.filled = !stack.isEmpty();
+            }
+
+            KilnItemStorage.this.kiln.inventory.set(0, stack);
+        }
+
+        @Override
+        protected boolean canInsert(ItemVariant itemVariant) {
+            return KilnItemStorage.this.kiln.canAcceptInput(itemVariant);
+        }
+
+        @Override
+        protected boolean canExtract(ItemVariant itemVariant) {
+            return false;
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            if (this.filled) {
+                this.filled = false;
+                KilnItemStorage.this.kiln.resetCooking();
+            }
+
+            KilnItemStorage.this.kiln.markDirty();
+        }
+    }
+
+    private class OutputStorage extends SingleStackStorage {
+        @Override
+        protected ItemStack getStack() {
+            return KilnItemStorage.this.kiln.inventory.get(1);
+        }
+
+        @Override
+        protected void setStack(ItemStack stack) {
+            KilnItemStorage.this.kiln.inventory.set(1, stack);
+        }
+
+        @Override
+        protected boolean canInsert(ItemVariant itemVariant) {
+            return false;
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            KilnItemStorage.this.kiln.markDirty();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.mariany.genesis.block.entity.custom;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Drives every cooking kiln of a world from a single loop over dense arrays instead of one
+ * block entity ticker per kiln. Kilns that are idle or cooling are not tracked at all and only
+ * come back through {@link KilnBlockEntity#wake()}.
+ */
+public class KilnTickService {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Map<ServerWorld, KilnTickService> SERVICES = new Reference2ObjectOpenHashMap<>();
+
+    private final ServerWorld world;
+    private final ReferenceLinkedOpenHashSet<KilnBlockEntity> pending = new ReferenceLinkedOpenHashSet<>();
+
+    private KilnBlockEntity[] kilns = new KilnBlockEntity[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private int[] totalTimes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private KilnTickService(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static KilnTickService get(ServerWorld world) {
+        return SERVICES.computeIfAbsent(world, KilnTickService::new);
+    }
+
+    public static void bootstrap() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            KilnTickService service = SERVICES.get(world);
+
+            if (service != null) {
+                service.tick();
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> SERVICES.remove(world));
+
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof KilnBlockEntity kilnBlockEntity) {
+                get(world).wake(kilnBlockEntity);
+            }
+        });
+
+        ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof KilnBlockEntity kilnBlockEntity) {
+                KilnTickService service = SERVICES.get(world);
+
+                if (service != null) {
+                    service.pending.remove(kilnBlockEntity);
+                    service.untrack(kilnBlockEntity);
+                }
+            }
+        });
+    }
+
+    void wake(KilnBlockEntity kiln) {
+        this.pending.add(kiln);
+    }
+
+    void track(KilnBlockEntity kiln, long startTime, int totalTime) {
+        int index = kiln.tickIndex;
+
+        if (index < 0) {
+            if (this.size == this.kilns.length) {
+                int capacity = this.size * 2;
+                this.kilns = Arrays.copyOf(this.kilns, capacity);
+                this.startTimes = Arrays.copyOf(this.startTimes, capacity);
+                this.totalTimes = Arrays.copyOf(this.totalTimes, capacity);
+            }
+
+            index = this.size++;
+            this.kilns[index] = kiln;
+            kiln.tickIndex = index;
+        }
+
+        this.startTimes[index] = startTime;
+        this.totalTimes[index] = totalTime;
+    }
+
+    void untrack(KilnBlockEntity kiln) {
+        int index = kiln.tickIndex;
+
+        if (index < 0) {
+            return;
+        }
+
+        // Swap the last entry into the freed slot to keep the arrays dense
+        int last = --this.size;
+        KilnBlockEntity moved = this.kilns[last];
+
+        this.kilns[index] = moved;
+        this.startTimes[index] = this.startTimes[last];
+        this.totalTimes[index] = this.totalTimes[last];
+        moved.tickIndex = index;
+
+        this.kilns[last] = null;
+        kiln.tickIndex = -1;
+    }
+
+    private void tick() {
+        long time = this.world.getTime();
+
+        for (int i = 0; i < this.size; i++) {
+            if (time - this.startTimes[i] >= this.totalTimes[i]) {
+                this.pending.add(this.kilns[i]);
+            }
+        }
+
+        if (this.pending.isEmpty()) {
+            return;
+        }
+
+        // Kilns woken while updating are picked up next tick
+        KilnBlockEntity[] updates = this.pending.toArray(new KilnBlockEntity[0]);
+        this.pending.clear();
+
+        for (KilnBlockEntity kiln : updates) {
+            if (kiln.isRemoved()) {
+                this.untrack(kiln);
+            } else {
+                KilnBlockEntity.update(this.world, kiln.getPos(), kiln.getCachedState(), kiln);
+            }
+        }
+    }
+}
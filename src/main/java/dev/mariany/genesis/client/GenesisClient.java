@@ -5,13 +5,20 @@ import dev.mariany.genesis.client.gui.screen.ingame.KilnScreen;
 import dev.mariany.genesis.client.render.entity.BoarEntityRenderer;
 import dev.mariany.genesis.client.render.entity.model.GenesisModelLayers;
 import dev.mariany.genesis.entity.GenesisEntities;
+import dev.mariany.genesis.network.AssemblyRecipesPayload;
+import dev.mariany.genesis.network.BrewItemRecipesPayload;
+import dev.mariany.genesis.recipe.AssemblyRecipeIndex;
+import dev.mariany.genesis.recipe.brew.GenesisBrewingRecipes;
 import dev.mariany.genesis.screen.GenesisScreenHandlers;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
 import net.minecraft.client.gui.screen.ingame.HandledScreens;
 
+
 @Environment(EnvType.CLIENT)
 public class GenesisClient implements ClientModInitializer {
     @Override
@@ -20,12 +27,30 @@ public class GenesisClient implements ClientModInitializer {
 
         registerEntityRenderer();
         registerScreenHandlers();
+        registerNetworking();
     }
 
     private static void registerEntityRenderer() {
         EntityRendererRegistry.register(GenesisEntities.BOAR, BoarEntityRenderer::new);
     }
 
+    private static void registerNetworking() {
+        ClientPlayNetworking.registerGlobalReceiver(
+                AssemblyRecipesPayload.ID,
+                (payload, context) -> AssemblyRecipeIndex.setClientInstance(payload.toIndex())
+        );
+
+        ClientPlayNetworking.registerGlobalReceiver(
+                BrewItemRecipesPayload.ID,
+                (payload, context) -> GenesisBrewingRecipes.setClientBrewItemRecipes(payload.recipes())
+        );
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            AssemblyRecipeIndex.setClientInstance(null);
+            GenesisBrewingRecipes.setClientBrewItemRecipes(null);
+        });
+    }
+
     private static void registerScreenHandlers() {
         HandledScreens.register(GenesisScreenHandlers.KILN, KilnScreen::new);
         HandledScreens.register(GenesisScreenHandlers.ASSEMBLY, AssemblyScreen::new);
@@ -5,6 +5,8 @@ import dev.mariany.genesis.mixin.accessor.GhostRecipeAccessor;
 import dev.mariany.genesis.recipe.display.AssemblyCraftingRecipeDisplay;
 import dev.mariany.genesis.screen.AssemblyScreenHandler;
 import dev.mariany.genesis.screen.slot.AssemblyInputSlot;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.gui.screen.recipebook.AbstractCraftingRecipeBookWidget;
@@ -19,11 +21,14 @@ import net.minecraft.screen.slot.Slot;
 import net.minecraft.util.context.ContextParameterMap;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 @Environment(EnvType.CLIENT)
 public class AssemblyRecipeBookWidget extends AbstractCraftingRecipeBookWidget {
+    private final Map<AssemblyPatternItem, Reference2BooleanOpenHashMap<RecipeDisplay>> visibility = new Reference2ObjectOpenHashMap<>();
+
     public AssemblyRecipeBookWidget(AssemblyScreenHandler screenHandler) {
         super(screenHandler);
     }
@@ -61,29 +66,55 @@ public class AssemblyRecipeBookWidget extends AbstractCraftingRecipeBookWidget {
         recipeResultCollection.populateRecipes(recipeFinder, this::canDisplay);
     }
 
+    @Override
+    public void refresh() {
+        // Recipes or tags were synced again, so every cached answer may be stale
+        this.visibility.clear();
+        super.refresh();
+    }
+
     private boolean canDisplay(RecipeDisplay display) {
         if (this.craftingScreenHandler instanceof AssemblyScreenHandler assemblyScreenHandler) {
-            ContextParameterMap context = SlotDisplayContexts.createParameters(
-                    Objects.requireNonNull(this.client.world)
+            Optional<AssemblyPatternItem> optionalAssemblyPatternItem = assemblyScreenHandler.getAssemblyPatternItem();
+
+            if (optionalAssemblyPatternItem.isEmpty()) {
+                return false;
+            }
+
+            AssemblyPatternItem assemblyPatternItem = optionalAssemblyPatternItem.get();
+            Reference2BooleanOpenHashMap<RecipeDisplay> patternVisibility = this.visibility.computeIfAbsent(
+                    assemblyPatternItem,
+                    pattern -> new Reference2BooleanOpenHashMap<>()
             );
 
-            List<ItemStack> stacks = display.result().getStacks(context);
+            if (patternVisibility.containsKey(display)) {
+                return patternVisibility.getBoolean(display);
+            }
 
-            Optional<AssemblyPatternItem> optionalAssemblyPatternItem = assemblyScreenHandler.getAssemblyPatternItem();
+            boolean visible = this.computeCanDisplay(display, assemblyPatternItem);
+            patternVisibility.put(display, visible);
 
-            if (optionalAssemblyPatternItem.isPresent()) {
-                AssemblyPatternItem assemblyPatternItem = optionalAssemblyPatternItem.get();
+            return visible;
+        }
 
-                for (ItemStack stack : stacks) {
-                    if (!stack.isIn(assemblyPatternItem.getCrafts())) {
-                        return false;
-                    }
-                }
-            } else {
+        return this.fitsGrid(display);
+    }
+
+    private boolean computeCanDisplay(RecipeDisplay display, AssemblyPatternItem assemblyPatternItem) {
+        ContextParameterMap context = SlotDisplayContexts.createParameters(
+                Objects.requireNonNull(this.client.world)
+        );
+
+        for (ItemStack stack : display.result().getStacks(context)) {
+            if (!stack.isIn(assemblyPatternItem.getCrafts())) {
                 return false;
             }
         }
 
+        return this.fitsGrid(display);
+    }
+
+    private boolean fitsGrid(RecipeDisplay display) {
         int width = this.craftingScreenHandler.getWidth();
         int height = this.craftingScreenHandler.getHeight();
 
@@ -2,4 +2,6 @@ package dev.mariany.genesis.config;
 
 public class GenesisConfig {
     public boolean enforceMoodyBrightness = true;
+    public boolean kilnOfflineProgress = true;
+    public int kilnBatchSize = 1;
 }
@@ -0,0 +1,10 @@
+package dev.mariany.genesis.entity;
+
+public interface StewRecipeUnlockTracker {
+    /**
+     * @return whether this player is known to have the healthy stew recipe unlocked
+     */
+    boolean genesis$hasUnlockedStewRecipe();
+
+    void genesis$setUnlockedStewRecipe(boolean unlocked);
+}
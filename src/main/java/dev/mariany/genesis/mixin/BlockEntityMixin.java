@@ -0,0 +1,32 @@
+package dev.mariany.genesis.mixin;
+
+import dev.mariany.genesis.block.entity.custom.KilnBlockEntity;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(BlockEntity.class)
+public class BlockEntityMixin {
+    /**
+     * Block entities are only created from saved data when their chunk loads. Structure templates,
+     * commands and copied items read into a block entity that already exists.
+     */
+    @Inject(method = "createFromNbt", at = @At("RETURN"))
+    private static void injectCreateFromNbt(
+            BlockPos pos,
+            BlockState state,
+            NbtCompound nbt,
+            RegistryWrapper.WrapperLookup registries,
+            CallbackInfoReturnable<BlockEntity> cir
+    ) {
+        if (cir.getReturnValue() instanceof KilnBlockEntity kiln) {
+            kiln.readSavedTime(nbt);
+        }
+    }
+}
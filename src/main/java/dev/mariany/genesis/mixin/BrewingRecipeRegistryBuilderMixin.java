@@ -12,7 +12,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public class BrewingRecipeRegistryBuilderMixin {
     @Inject(method = "assertPotion", at = @At(value = "HEAD"), cancellable = true)
     private static void injectAssertPotion(Item potionType, CallbackInfo ci) {
-        if (GenesisBrewingRecipes.getPotionBypasses().contains(potionType)) {
+        if (GenesisBrewingRecipes.isPotionBypass(potionType)) {
             ci.cancel();
         }
     }
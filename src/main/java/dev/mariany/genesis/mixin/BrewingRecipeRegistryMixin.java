@@ -1,7 +1,7 @@
 package dev.mariany.genesis.mixin;
 
-import dev.mariany.genesis.recipe.brew.BrewItemRecipe;
 import dev.mariany.genesis.recipe.brew.GenesisBrewingRecipes;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.BrewingRecipeRegistry;
 import org.spongepowered.asm.mixin.Mixin;
@@ -9,29 +9,35 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.util.List;
-
 @Mixin(BrewingRecipeRegistry.class)
 public class BrewingRecipeRegistryMixin {
     @Inject(method = "isPotionType", at = @At(value = "HEAD"), cancellable = true)
     private void injectIsPotionType(ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
-        if (GenesisBrewingRecipes.getPotionBypasses().contains(stack.getItem())) {
+        if (GenesisBrewingRecipes.isPotionBypass(stack.getItem())) {
+            cir.setReturnValue(true);
+        }
+    }
+
+    @Inject(method = "isItemRecipeIngredient", at = @At(value = "HEAD"), cancellable = true)
+    private void injectIsItemRecipeIngredient(ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
+        if (GenesisBrewingRecipes.isIngredient(stack.getItem())) {
+            cir.setReturnValue(true);
+        }
+    }
+
+    @Inject(method = "hasItemRecipe", at = @At(value = "HEAD"), cancellable = true)
+    private void injectHasItemRecipe(ItemStack input, ItemStack ingredient, CallbackInfoReturnable<Boolean> cir) {
+        if (GenesisBrewingRecipes.getBrewResult(input.getItem(), ingredient.getItem()) != null) {
             cir.setReturnValue(true);
         }
     }
 
     @Inject(method = "craft", at = @At(value = "HEAD"), cancellable = true)
     public void injectCraft(ItemStack ingredient, ItemStack input, CallbackInfoReturnable<ItemStack> cir) {
-        List<BrewItemRecipe> brewItemRecipes = GenesisBrewingRecipes.getBrewItemRecipes();
-
-        for (BrewItemRecipe brewItemRecipe : brewItemRecipes) {
-            boolean inputMatches = input.isOf(brewItemRecipe.from());
-            boolean ingredientMatches = ingredient.isOf(brewItemRecipe.ingredient());
+        Item result = GenesisBrewingRecipes.getBrewResult(input.getItem(), ingredient.getItem());
 
-            if (inputMatches && ingredientMatches) {
-                cir.setReturnValue(brewItemRecipe.to().getDefaultStack());
-                break;
-            }
+        if (result != null) {
+            cir.setReturnValue(result.getDefaultStack());
         }
     }
 }
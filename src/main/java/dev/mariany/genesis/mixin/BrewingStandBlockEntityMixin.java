@@ -15,7 +15,7 @@ public class BrewingStandBlockEntityMixin {
         BrewingStandBlockEntity brewingStandBlockEntity = ((BrewingStandBlockEntity) (Object) this);
 
         if (slot != 3 && slot != 4 && brewingStandBlockEntity.getStack(slot).isEmpty()) {
-            if (GenesisBrewingRecipes.getPotionBypasses().contains(stack.getItem())) {
+            if (GenesisBrewingRecipes.isPotionBypass(stack.getItem())) {
                 cir.setReturnValue(true);
             }
         }
@@ -12,7 +12,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 public class BrewingStandScreenHandlerPotionSlotMixin {
     @Inject(method = "matches", at = @At(value = "HEAD"), cancellable = true)
     private static void matches(ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
-        if (GenesisBrewingRecipes.getPotionBypasses().contains(stack.getItem())) {
+        if (GenesisBrewingRecipes.isPotionBypass(stack.getItem())) {
             cir.setReturnValue(true);
         }
     }
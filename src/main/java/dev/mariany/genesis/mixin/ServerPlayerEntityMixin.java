@@ -0,0 +1,34 @@
+package dev.mariany.genesis.mixin;
+
+import dev.mariany.genesis.entity.StewRecipeUnlockTracker;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Collection;
+
+@Mixin(ServerPlayerEntity.class)
+public class ServerPlayerEntityMixin implements StewRecipeUnlockTracker {
+    @Unique
+    private boolean unlockedStewRecipe;
+
+    @Override
+    public boolean genesis$hasUnlockedStewRecipe() {
+        return this.unlockedStewRecipe;
+    }
+
+    @Override
+    public void genesis$setUnlockedStewRecipe(boolean unlocked) {
+        this.unlockedStewRecipe = unlocked;
+    }
+
+    @Inject(method = "lockRecipes", at = @At("HEAD"))
+    private void injectLockRecipes(Collection<RecipeEntry<?>> recipes, CallbackInfoReturnable<Integer> cir) {
+        // Forget it, so a stew recipe taken away can be unlocked again
+        this.unlockedStewRecipe = false;
+    }
+}
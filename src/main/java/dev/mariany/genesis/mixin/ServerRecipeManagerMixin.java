@@ -1,7 +1,9 @@
 package dev.mariany.genesis.mixin;
 
+import dev.mariany.genesis.recipe.AssemblyRecipeIndex;
 import dev.mariany.genesis.recipe.DynamicAssemblyRecipeProvider;
 import dev.mariany.genesis.recipe.DynamicHealthyStewRecipeProvider;
+import dev.mariany.genesis.recipe.KilnRecipeTable;
 import net.minecraft.recipe.PreparedRecipes;
 import net.minecraft.recipe.ServerRecipeManager;
 import net.minecraft.registry.RegistryWrapper;
@@ -34,4 +36,10 @@ public class ServerRecipeManagerMixin {
         PreparedRecipes populatedRecipes = dynamicAssemblyRecipeProvider.provide(preparedRecipes.recipes());
         this.preparedRecipes = dynamicHealthyStewRecipeProvider.provide(populatedRecipes.recipes());
     }
+
+    @Inject(method = "initialize", at = @At("TAIL"))
+    public void afterInitialize(FeatureSet features, CallbackInfo ci) {
+        KilnRecipeTable.rebuild(this.preparedRecipes, this.registries);
+        AssemblyRecipeIndex.rebuild(this.preparedRecipes);
+    }
 }
@@ -0,0 +1,93 @@
+package dev.mariany.genesis.network;
+
+import dev.mariany.genesis.Genesis;
+import dev.mariany.genesis.item.custom.AssemblyPatternItem;
+import dev.mariany.genesis.recipe.AssemblyPatterns;
+import dev.mariany.genesis.recipe.AssemblyRecipe;
+import dev.mariany.genesis.recipe.AssemblyRecipeIndex;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.recipe.RawShapedRecipe;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The assembly recipes of the server in recipe manager order, just enough of each to match a grid
+ * and craft its result. Pattern bits index into {@link #patterns()} rather than the local pattern
+ * table, since registry order is not guaranteed to agree between both sides.
+ */
+public record AssemblyRecipesPayload(List<Item> patterns, List<Entry> entries) implements CustomPayload {
+    public static final CustomPayload.Id<AssemblyRecipesPayload> ID = new CustomPayload.Id<>(Genesis.id("assembly_recipes"));
+    public static final PacketCodec<RegistryByteBuf, AssemblyRecipesPayload> CODEC = PacketCodec.tuple(
+            PacketCodecs.registryValue(RegistryKeys.ITEM).collect(PacketCodecs.toList()),
+            AssemblyRecipesPayload::patterns,
+            Entry.PACKET_CODEC.collect(PacketCodecs.toList()),
+            AssemblyRecipesPayload::entries,
+            AssemblyRecipesPayload::new
+    );
+
+    public static AssemblyRecipesPayload of(AssemblyRecipeIndex index) {
+        List<Entry> entries = new ArrayList<>(index.getEntries().size());
+
+        for (RecipeEntry<AssemblyRecipe> recipeEntry : index.getEntries()) {
+            AssemblyRecipe recipe = recipeEntry.value();
+            entries.add(new Entry(recipeEntry.id(), recipe.getRaw(), recipe.craft(), recipe.getPatternBits()));
+        }
+
+        return new AssemblyRecipesPayload(List.copyOf(AssemblyPatterns.getAll()), entries);
+    }
+
+    public AssemblyRecipeIndex toIndex() {
+        long[] localBits = new long[this.patterns.size()];
+
+        for (int i = 0; i < localBits.length; i++) {
+            if (this.patterns.get(i) instanceof AssemblyPatternItem pattern) {
+                localBits[i] = AssemblyPatterns.getBit(pattern);
+            }
+        }
+
+        List<RecipeEntry<AssemblyRecipe>> recipes = new ArrayList<>(this.entries.size());
+
+        for (Entry entry : this.entries) {
+            long patternBits = 0L;
+
+            for (int i = 0; i < localBits.length; i++) {
+                if ((entry.patternBits() >>> i & 1L) != 0) {
+                    patternBits |= localBits[i];
+                }
+            }
+
+            recipes.add(new RecipeEntry<>(entry.id(), new AssemblyRecipe(entry.raw(), entry.result(), patternBits)));
+        }
+
+        return AssemblyRecipeIndex.of(recipes);
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    public record Entry(RegistryKey<Recipe<?>> id, RawShapedRecipe raw, ItemStack result, long patternBits) {
+        public static final PacketCodec<RegistryByteBuf, Entry> PACKET_CODEC = PacketCodec.tuple(
+                RegistryKey.createPacketCodec(RegistryKeys.RECIPE),
+                Entry::id,
+                RawShapedRecipe.PACKET_CODEC,
+                Entry::raw,
+                ItemStack.PACKET_CODEC,
+                Entry::result,
+                PacketCodecs.VAR_LONG,
+                Entry::patternBits,
+                Entry::new
+        );
+    }
+}
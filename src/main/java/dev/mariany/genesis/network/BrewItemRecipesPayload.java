@@ -0,0 +1,24 @@
+package dev.mariany.genesis.network;
+
+import dev.mariany.genesis.Genesis;
+import dev.mariany.genesis.recipe.brew.BrewItemRecipe;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+
+import java.util.List;
+
+public record BrewItemRecipesPayload(List<BrewItemRecipe> recipes) implements CustomPayload {
+    public static final CustomPayload.Id<BrewItemRecipesPayload> ID = new CustomPayload.Id<>(Genesis.id("brew_item_recipes"));
+    public static final PacketCodec<RegistryByteBuf, BrewItemRecipesPayload> CODEC = PacketCodec.tuple(
+            BrewItemRecipe.PACKET_CODEC.collect(PacketCodecs.toList()),
+            BrewItemRecipesPayload::recipes,
+            BrewItemRecipesPayload::new
+    );
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
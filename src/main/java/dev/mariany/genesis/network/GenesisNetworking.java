@@ -0,0 +1,47 @@
+package dev.mariany.genesis.network;
+
+import dev.mariany.genesis.Genesis;
+import dev.mariany.genesis.recipe.AssemblyRecipeIndex;
+import dev.mariany.genesis.recipe.brew.GenesisBrewingRecipes;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+public class GenesisNetworking {
+    private static AssemblyRecipeIndex assemblyRecipesSource;
+    private static AssemblyRecipesPayload assemblyRecipes;
+
+    public static boolean canPredictAssemblyResults(ServerPlayerEntity player) {
+        return ServerPlayNetworking.canSend(player, AssemblyRecipesPayload.ID);
+    }
+
+    private static AssemblyRecipesPayload getAssemblyRecipes() {
+        AssemblyRecipeIndex index = AssemblyRecipeIndex.getInstance();
+
+        // Built once per recipe reload and shared between every player it is sent to
+        if (assemblyRecipesSource != index) {
+            assemblyRecipes = AssemblyRecipesPayload.of(index);
+            assemblyRecipesSource = index;
+        }
+
+        return assemblyRecipes;
+    }
+
+    public static void bootstrap() {
+        Genesis.LOGGER.info("Registering Networking for " + Genesis.MOD_ID);
+
+        PayloadTypeRegistry.playS2C().register(AssemblyRecipesPayload.ID, AssemblyRecipesPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(BrewItemRecipesPayload.ID, BrewItemRecipesPayload.CODEC);
+
+        ServerLifecycleEvents.SYNC_DATA_PACK_CONTENTS.register((player, joined) -> {
+            if (canPredictAssemblyResults(player)) {
+                ServerPlayNetworking.send(player, getAssemblyRecipes());
+            }
+
+            if (ServerPlayNetworking.canSend(player, BrewItemRecipesPayload.ID)) {
+                ServerPlayNetworking.send(player, new BrewItemRecipesPayload(GenesisBrewingRecipes.getBrewItemRecipes()));
+            }
+        });
+    }
+}
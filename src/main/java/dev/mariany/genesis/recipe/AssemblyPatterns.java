@@ -0,0 +1,80 @@
+package dev.mariany.genesis.recipe;
+
+import dev.mariany.genesis.item.custom.AssemblyPatternItem;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Every registered {@link AssemblyPatternItem} in registry order. Assembly recipes refer to their
+ * patterns by bit index into this table instead of holding a list each.
+ */
+public final class AssemblyPatterns {
+    private AssemblyPatterns() {
+    }
+
+    public static List<AssemblyPatternItem> getAll() {
+        return Table.PATTERNS;
+    }
+
+    public static long getBit(AssemblyPatternItem pattern) {
+        int index = Table.INDICES.getInt(pattern);
+        return index < 0 ? 0L : 1L << index;
+    }
+
+    public static long toBits(Collection<AssemblyPatternItem> patterns) {
+        long bits = 0L;
+
+        for (AssemblyPatternItem pattern : patterns) {
+            bits |= getBit(pattern);
+        }
+
+        return bits;
+    }
+
+    public static List<AssemblyPatternItem> fromBits(long bits) {
+        List<AssemblyPatternItem> all = getAll();
+        List<AssemblyPatternItem> result = new ArrayList<>(Long.bitCount(bits));
+
+        for (int index = 0; index < all.size(); index++) {
+            if ((bits >>> index & 1L) != 0) {
+                result.add(all.get(index));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Built by the JVM on first use, which publishes it safely to the server, client and recipe
+     * conversion threads alike. Items are frozen long before the first reload, so the table never
+     * changes afterwards.
+     */
+    private static final class Table {
+        private static final List<AssemblyPatternItem> PATTERNS;
+        private static final Reference2IntOpenHashMap<AssemblyPatternItem> INDICES = new Reference2IntOpenHashMap<>();
+
+        static {
+            List<AssemblyPatternItem> all = new ArrayList<>();
+
+            INDICES.defaultReturnValue(-1);
+
+            for (Item item : Registries.ITEM) {
+                if (item instanceof AssemblyPatternItem assemblyPatternItem) {
+                    INDICES.put(assemblyPatternItem, all.size());
+                    all.add(assemblyPatternItem);
+                }
+            }
+
+            if (all.size() > Long.SIZE) {
+                throw new IllegalStateException("Too many assembly patterns: " + all.size());
+            }
+
+            PATTERNS = List.copyOf(all);
+        }
+    }
+}
@@ -13,42 +13,60 @@ import net.minecraft.recipe.display.SlotDisplay;
 import java.util.List;
 
 public class AssemblyRecipe extends ShapedRecipe {
-    final RawShapedRecipe raw;
-    final ItemStack result;
-    final List<AssemblyPatternItem> patterns;
+    final long patternBits;
 
-    public AssemblyRecipe(ShapedRecipe recipe, List<AssemblyPatternItem> patterns) {
+    /**
+     * @param raw the ingredient layout of {@code recipe}, or an identical one shared with other recipes
+     */
+    public AssemblyRecipe(ShapedRecipe recipe, RawShapedRecipe raw, List<AssemblyPatternItem> patterns) {
         this(
                 recipe.getGroup(),
                 recipe.getCategory(),
-                ((ShapedRecipeAccessor) recipe).genesis$raw(),
+                raw,
                 ((ShapedRecipeAccessor) recipe).genesis$result(),
                 recipe.showNotification(),
-                patterns
+                AssemblyPatterns.toBits(patterns)
         );
     }
 
+    /**
+     * Rebuilds a recipe from what the server syncs to clients for result prediction.
+     */
+    public AssemblyRecipe(RawShapedRecipe raw, ItemStack result, long patternBits) {
+        this("", CraftingRecipeCategory.MISC, raw, result, false, patternBits);
+    }
+
     private AssemblyRecipe(
             String group,
             CraftingRecipeCategory category,
             RawShapedRecipe raw,
             ItemStack result,
             boolean showNotification,
-            List<AssemblyPatternItem> patterns
+            long patternBits
     ) {
         super(group, category, raw, result, showNotification);
 
-        this.raw = raw;
-        this.result = result;
-        this.patterns = patterns;
+        this.patternBits = patternBits;
+    }
+
+    public RawShapedRecipe getRaw() {
+        return ((ShapedRecipeAccessor) this).genesis$raw();
+    }
+
+    public long getPatternBits() {
+        return this.patternBits;
     }
 
     public List<AssemblyPatternItem> getPatterns() {
-        return this.patterns;
+        return AssemblyPatterns.fromBits(this.patternBits);
+    }
+
+    public boolean hasPattern(AssemblyPatternItem pattern) {
+        return (this.patternBits & AssemblyPatterns.getBit(pattern)) != 0;
     }
 
     public ItemStack craft() {
-        return this.result.copy();
+        return ((ShapedRecipeAccessor) this).genesis$result().copy();
     }
 
     @Override
@@ -58,11 +76,13 @@ public class AssemblyRecipe extends ShapedRecipe {
 
     @Override
     public List<RecipeDisplay> getDisplays() {
+        RawShapedRecipe raw = this.getRaw();
+
         return List.of(
                 new AssemblyCraftingRecipeDisplay(
-                        this.raw.getWidth(),
-                        this.raw.getHeight(),
-                        this.raw
+                        raw.getWidth(),
+                        raw.getHeight(),
+                        raw
                                 .getIngredients()
                                 .stream()
                                 .map(ingredient -> ingredient
@@ -70,7 +90,7 @@ public class AssemblyRecipe extends ShapedRecipe {
                                         .orElse(SlotDisplay.EmptySlotDisplay.INSTANCE)
                                 )
                                 .toList(),
-                        new SlotDisplay.StackSlotDisplay(this.result),
+                        new SlotDisplay.StackSlotDisplay(((ShapedRecipeAccessor) this).genesis$result()),
                         new SlotDisplay.ItemSlotDisplay(Items.CRAFTING_TABLE)
                 )
         );
@@ -0,0 +1,204 @@
+package dev.mariany.genesis.recipe;
+
+import dev.mariany.genesis.item.custom.AssemblyPatternItem;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.CraftingRecipe;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.PreparedRecipes;
+import net.minecraft.recipe.RawShapedRecipe;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.input.CraftingRecipeInput;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Assembly recipes grouped by the pattern that can craft them and then by the shape of their
+ * input: its size, which of its slots are occupied and the item in the first occupied slot.
+ * A grid only has to be matched against the few recipes sharing its key, in recipe manager order.
+ */
+public final class AssemblyRecipeIndex {
+    private static volatile AssemblyRecipeIndex instance = of(List.of());
+    // Synced from the server so the client can predict results; null until the server sent one
+    @Nullable
+    private static volatile AssemblyRecipeIndex clientInstance;
+
+    private final List<RecipeEntry<AssemblyRecipe>> entries;
+    private final Map<AssemblyPatternItem, Long2ObjectOpenHashMap<List<RecipeEntry<CraftingRecipe>>>> recipes;
+
+    private AssemblyRecipeIndex(
+            List<RecipeEntry<AssemblyRecipe>> entries,
+            Map<AssemblyPatternItem, Long2ObjectOpenHashMap<List<RecipeEntry<CraftingRecipe>>>> recipes
+    ) {
+        this.entries = entries;
+        this.recipes = recipes;
+    }
+
+    public static AssemblyRecipeIndex getInstance() {
+        return instance;
+    }
+
+    @Nullable
+    public static AssemblyRecipeIndex getClientInstance() {
+        return clientInstance;
+    }
+
+    public static void setClientInstance(@Nullable AssemblyRecipeIndex index) {
+        clientInstance = index;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void rebuild(PreparedRecipes preparedRecipes) {
+        List<RecipeEntry<AssemblyRecipe>> entries = new ObjectArrayList<>();
+
+        for (RecipeEntry<CraftingRecipe> recipeEntry : preparedRecipes.getAll(GenesisRecipeTypes.ASSEMBLY)) {
+            if (recipeEntry.value() instanceof AssemblyRecipe) {
+                entries.add((RecipeEntry<AssemblyRecipe>) (Object) recipeEntry);
+            }
+        }
+
+        instance = of(entries);
+    }
+
+    /**
+     * @param entries assembly recipes in recipe manager order
+     */
+    @SuppressWarnings("unchecked")
+    public static AssemblyRecipeIndex of(List<RecipeEntry<AssemblyRecipe>> entries) {
+        Map<AssemblyPatternItem, Long2ObjectOpenHashMap<List<RecipeEntry<CraftingRecipe>>>> recipes = new Reference2ObjectOpenHashMap<>();
+
+        for (RecipeEntry<AssemblyRecipe> assemblyEntry : entries) {
+            AssemblyRecipe assemblyRecipe = assemblyEntry.value();
+            RecipeEntry<CraftingRecipe> recipeEntry = (RecipeEntry<CraftingRecipe>) (Object) assemblyEntry;
+
+            for (AssemblyPatternItem pattern : assemblyRecipe.getPatterns()) {
+                Long2ObjectOpenHashMap<List<RecipeEntry<CraftingRecipe>>> byKey = recipes.computeIfAbsent(
+                        pattern,
+                        key -> new Long2ObjectOpenHashMap<>()
+                );
+
+                index(byKey, recipeEntry, assemblyRecipe.getRaw(), false);
+                index(byKey, recipeEntry, assemblyRecipe.getRaw(), true);
+            }
+        }
+
+        return new AssemblyRecipeIndex(List.copyOf(entries), recipes);
+    }
+
+    public List<RecipeEntry<AssemblyRecipe>> getEntries() {
+        return this.entries;
+    }
+
+    private static void index(
+            Long2ObjectOpenHashMap<List<RecipeEntry<CraftingRecipe>>> byKey,
+            RecipeEntry<CraftingRecipe> recipeEntry,
+            RawShapedRecipe raw,
+            boolean mirrored
+    ) {
+        int width = raw.getWidth();
+        int height = raw.getHeight();
+        List<Optional<Ingredient>> ingredients = raw.getIngredients();
+        int mask = 0;
+        Ingredient first = null;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                Optional<Ingredient> ingredient = ingredients.get(y * width + (mirrored ? width - 1 - x : x));
+
+                if (ingredient.isPresent()) {
+                    mask |= 1 << (y * width + x);
+
+                    if (first == null) {
+                        first = ingredient.get();
+                    }
+                }
+            }
+        }
+
+        if (first == null) {
+            return;
+        }
+
+        int layout = getLayout(width, height, mask);
+
+        first.getMatchingItems().map(RegistryEntry::value).forEach(item -> {
+            List<RecipeEntry<CraftingRecipe>> candidates = byKey.computeIfAbsent(
+                    getKey(layout, item),
+                    key -> new ObjectArrayList<>()
+            );
+
+            // Symmetrical recipes produce the same key twice
+            if (candidates.isEmpty() || candidates.getLast() != recipeEntry) {
+                candidates.add(recipeEntry);
+            }
+        });
+    }
+
+    public Optional<RecipeEntry<CraftingRecipe>> getFirstMatch(
+            AssemblyPatternItem pattern,
+            CraftingRecipeInput input,
+            World world,
+            @Nullable RecipeEntry<CraftingRecipe> hint
+    ) {
+        Long2ObjectOpenHashMap<List<RecipeEntry<CraftingRecipe>>> byKey = this.recipes.get(pattern);
+
+        if (byKey == null || input.getStackCount() == 0) {
+            return Optional.empty();
+        }
+
+        if (hint != null
+                && hint.value() instanceof AssemblyRecipe assemblyRecipe
+                && assemblyRecipe.hasPattern(pattern)
+                && assemblyRecipe.matches(input, world)) {
+            return Optional.of(hint);
+        }
+
+        int width = input.getWidth();
+        int height = input.getHeight();
+        int mask = 0;
+        Item first = null;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                ItemStack stack = input.getStackInSlot(x, y);
+
+                if (!stack.isEmpty()) {
+                    mask |= 1 << (y * width + x);
+
+                    if (first == null) {
+                        first = stack.getItem();
+                    }
+                }
+            }
+        }
+
+        List<RecipeEntry<CraftingRecipe>> candidates = byKey.get(getKey(getLayout(width, height, mask), first));
+
+        if (candidates != null) {
+            for (RecipeEntry<CraftingRecipe> candidate : candidates) {
+                if (candidate.value().matches(input, world)) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static int getLayout(int width, int height, int mask) {
+        return width << 13 | height << 9 | mask;
+    }
+
+    private static long getKey(int layout, Item item) {
+        return (long) layout << 32 | Registries.ITEM.getRawId(item) & 0xFFFFFFFFL;
+    }
+}
@@ -63,6 +63,13 @@ public record CraftingPattern(int patternBits) {
         return ((patternBits >> index) & 1) == 0;
     }
 
+    /**
+     * Whether every slot set in {@code mask} is enabled by this pattern.
+     */
+    public boolean allows(int mask) {
+        return (mask & ~patternBits) == 0;
+    }
+
     public static CraftingPattern fromGrid(boolean[] grid) {
         if (grid.length != 9) {
             throw new IllegalArgumentException("Grid must have a length 9");
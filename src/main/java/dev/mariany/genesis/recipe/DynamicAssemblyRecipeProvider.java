@@ -2,22 +2,40 @@ package dev.mariany.genesis.recipe;
 
 import dev.mariany.genesis.Genesis;
 import dev.mariany.genesis.item.custom.AssemblyPatternItem;
+import dev.mariany.genesis.mixin.accessor.ShapedRecipeAccessor;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
 import net.minecraft.recipe.PreparedRecipes;
+import net.minecraft.recipe.RawShapedRecipe;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeEntry;
 import net.minecraft.recipe.ShapedRecipe;
-import net.minecraft.recipe.input.CraftingRecipeInput;
+import net.minecraft.recipe.display.SlotDisplay;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
 import net.minecraft.registry.RegistryWrapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 public class DynamicAssemblyRecipeProvider {
+    // Conversions from the previous reload, reused for recipes whose content did not change
+    private static Map<RegistryKey<Recipe<?>>, Conversion> conversions = Map.of();
+    private static List<PatternSnapshot> conversionsPatterns = List.of();
+
     private final RegistryWrapper.WrapperLookup wrapperLookup;
 
     public DynamicAssemblyRecipeProvider(RegistryWrapper.WrapperLookup wrapperLookup) {
@@ -25,58 +43,265 @@ public class DynamicAssemblyRecipeProvider {
     }
 
     public PreparedRecipes provide(Collection<RecipeEntry<?>> oldRecipes) {
-        List<AssemblyPatternItem> patterns = getPatterns();
-        List<RecipeEntry<?>> newRecipes = new ArrayList<>();
+        long startTime = System.nanoTime();
+        List<PatternSnapshot> snapshots = this.snapshotPatterns();
+        Map<RegistryKey<Recipe<?>>, Conversion> previous = snapshots.equals(conversionsPatterns) ? conversions : Map.of();
+        AtomicInteger rejectedPatternCount = new AtomicInteger();
+        Map<LayoutKey, RawShapedRecipe> layouts = new ConcurrentHashMap<>();
+        RecipeEntry<?>[] entries = oldRecipes.toArray(RecipeEntry<?>[]::new);
+        Set<Item> craftable = new ReferenceOpenHashSet<>();
+
+        for (PatternSnapshot snapshot : snapshots) {
+            craftable.addAll(snapshot.crafts());
+        }
+
+        // Each recipe converts independently; the ordered stream keeps the original recipe order
+        List<Conversion> results = IntStream.range(0, entries.length)
+                .parallel()
+                .mapToObj(i -> convert(entries[i], snapshots, craftable, previous, layouts, rejectedPatternCount))
+                .toList();
 
+        List<RecipeEntry<?>> newRecipes = new ArrayList<>(results.size());
+        Map<RegistryKey<Recipe<?>>, Conversion> newConversions = new Object2ObjectOpenHashMap<>();
+        List<RegistryKey<Recipe<?>>> dropped = new ArrayList<>();
         int assemblyRecipeCount = 0;
+        int reusedCount = 0;
 
-        for (RecipeEntry<?> entry : oldRecipes) {
-            Recipe<?> recipe = entry.value();
+        for (Conversion conversion : results) {
+            RecipeEntry<?> entry = conversion.result();
 
-            if (recipe instanceof ShapedRecipe shapedRecipe) {
-                List<AssemblyPatternItem> validPatterns = new ArrayList<>();
+            if (conversion.dropped()) {
+                dropped.add(entry.id());
+                newConversions.put(entry.id(), conversion);
+                continue;
+            }
 
-                for (AssemblyPatternItem pattern : patterns) {
-                    if (getShapedRecipeResult(shapedRecipe).isIn(pattern.getCrafts())) {
-                        validPatterns.add(pattern);
-                    }
-                }
+            newRecipes.add(entry);
+
+            if (entry.value() instanceof AssemblyRecipe) {
+                ++assemblyRecipeCount;
+                newConversions.put(entry.id(), conversion);
 
-                if (!validPatterns.isEmpty()) {
-                    newRecipes.add(createAssemblyRecipe(entry.id(), shapedRecipe, validPatterns));
-                    ++assemblyRecipeCount;
-                    continue;
+                if (previous.get(entry.id()) == conversion) {
+                    ++reusedCount;
                 }
             }
+        }
 
-            newRecipes.add(entry);
+        conversions = newConversions;
+        conversionsPatterns = snapshots;
+
+        Genesis.LOGGER.info(
+                "Created {} assembly recipes successfully in {} ms ({} reused)!",
+                assemblyRecipeCount,
+                (System.nanoTime() - startTime) / 1_000_000L,
+                reusedCount
+        );
+
+        if (!layouts.isEmpty()) {
+            Genesis.LOGGER.info(
+                    "{} new assembly recipes share {} distinct ingredient layouts",
+                    assemblyRecipeCount - reusedCount,
+                    layouts.size()
+            );
         }
 
-        Genesis.LOGGER.info("Created {} assembly recipes successfully!", assemblyRecipeCount);
+        if (!dropped.isEmpty()) {
+            Genesis.LOGGER.warn(
+                    "Removed {} crafting recipes whose result is crafted by a pattern that cannot hold them: {}",
+                    dropped.size(),
+                    dropped.stream().map(id -> id.getValue().toString()).toList()
+            );
+        }
+
+        if (rejectedPatternCount.get() > 0) {
+            Genesis.LOGGER.debug("Skipped {} assembly patterns whose enabled slots cannot hold their recipe", rejectedPatternCount.get());
+        }
 
         return PreparedRecipes.of(newRecipes);
     }
 
-    private static List<AssemblyPatternItem> getPatterns() {
-        return Registries.ITEM.stream()
-                .map(item ->
-                        item instanceof AssemblyPatternItem assemblyPatternItem
-                                ? assemblyPatternItem
-                                : null
-                )
-                .filter(Objects::nonNull)
-                .toList();
+    private static Conversion convert(
+            RecipeEntry<?> entry,
+            List<PatternSnapshot> patterns,
+            Set<Item> craftable,
+            Map<RegistryKey<Recipe<?>>, Conversion> previous,
+            Map<LayoutKey, RawShapedRecipe> layouts,
+            AtomicInteger rejectedPatternCount
+    ) {
+        if (!(entry.value() instanceof ShapedRecipe shapedRecipe)) {
+            return new Conversion(0, entry, false);
+        }
+
+        Item resultItem = ((ShapedRecipeAccessor) shapedRecipe).genesis$result().getItem();
+
+        // Most shaped recipes are not crafted by any pattern and stay as they are, so only the
+        // ones that get converted are worth hashing
+        if (!craftable.contains(resultItem)) {
+            return new Conversion(0, entry, false);
+        }
+
+        int sourceHash = hash(shapedRecipe);
+        Conversion cached = previous.get(entry.id());
+
+        if (cached != null && cached.sourceHash() == sourceHash) {
+            return cached;
+        }
+
+        List<AssemblyPatternItem> validPatterns = new ArrayList<>();
+        int[] placements = null;
+
+        for (PatternSnapshot pattern : patterns) {
+            if (pattern.crafts().contains(resultItem)) {
+                if (placements == null) {
+                    placements = getPlacements(((ShapedRecipeAccessor) shapedRecipe).genesis$raw());
+                }
+
+                if (fits(pattern.item().getCraftingPattern(), placements)) {
+                    validPatterns.add(pattern.item());
+                } else {
+                    rejectedPatternCount.incrementAndGet();
+                }
+            }
+        }
+
+        // Leaving the shaped recipe in place would let a crafting table make what only patterns
+        // are meant to unlock
+        if (validPatterns.isEmpty()) {
+            return new Conversion(sourceHash, entry, true);
+        }
+
+        return new Conversion(sourceHash, createAssemblyRecipe(entry.id(), shapedRecipe, validPatterns, layouts), false);
+    }
+
+    /**
+     * Hashes everything an assembly recipe is derived from. Ingredients are hashed by the items
+     * they currently accept, so a tag change behind an ingredient invalidates the conversion too.
+     */
+    private static int hash(ShapedRecipe shapedRecipe) {
+        RawShapedRecipe raw = ((ShapedRecipeAccessor) shapedRecipe).genesis$raw();
+        ItemStack result = ((ShapedRecipeAccessor) shapedRecipe).genesis$result();
+        int hash = Objects.hash(
+                shapedRecipe.getGroup(),
+                shapedRecipe.getCategory().asString(),
+                shapedRecipe.showNotification(),
+                raw.getWidth(),
+                raw.getHeight(),
+                Registries.ITEM.getRawId(result.getItem()),
+                result.getCount(),
+                result.getComponentChanges()
+        );
+
+        for (Optional<Ingredient> ingredient : raw.getIngredients()) {
+            hash = 31 * hash + ingredient.map(value -> value.getMatchingItems()
+                    .mapToInt(entry -> Registries.ITEM.getRawId(entry.value()))
+                    .reduce(1, (a, b) -> 31 * a + b)
+            ).orElse(0);
+        }
+
+        return hash;
     }
 
-    private ItemStack getShapedRecipeResult(ShapedRecipe shapedRecipe) {
-        return shapedRecipe.craft(CraftingRecipeInput.EMPTY, this.wrapperLookup);
+    /**
+     * Resolves the tag of every pattern into a plain identity set once, so the parallel conversion
+     * never has to touch the tag system.
+     */
+    private List<PatternSnapshot> snapshotPatterns() {
+        RegistryWrapper.Impl<Item> itemRegistry = this.wrapperLookup.getOrThrow(RegistryKeys.ITEM);
+        List<PatternSnapshot> snapshots = new ArrayList<>();
+
+        for (AssemblyPatternItem pattern : AssemblyPatterns.getAll()) {
+            Set<Item> crafts = new ReferenceOpenHashSet<>();
+
+            itemRegistry.getOptional(pattern.getCrafts())
+                    .ifPresent(entryList -> entryList.forEach(entry -> crafts.add(entry.value())));
+
+            snapshots.add(new PatternSnapshot(pattern, crafts));
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * The 3x3 occupancy masks of every position the recipe can be placed at, mirrored or not.
+     */
+    private static int[] getPlacements(RawShapedRecipe raw) {
+        int width = raw.getWidth();
+        int height = raw.getHeight();
+        List<Optional<Ingredient>> ingredients = raw.getIngredients();
+        IntArrayList placements = new IntArrayList();
+
+        for (int offsetY = 0; offsetY + height <= 3; offsetY++) {
+            for (int offsetX = 0; offsetX + width <= 3; offsetX++) {
+                int mask = 0;
+                int mirroredMask = 0;
+
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        if (ingredients.get(y * width + x).isPresent()) {
+                            mask |= 1 << ((offsetY + y) * 3 + offsetX + x);
+                            mirroredMask |= 1 << ((offsetY + y) * 3 + offsetX + width - 1 - x);
+                        }
+                    }
+                }
+
+                placements.add(mask);
+                placements.add(mirroredMask);
+            }
+        }
+
+        return placements.toIntArray();
     }
 
-    private RecipeEntry<?> createAssemblyRecipe(
+    private static boolean fits(CraftingPattern craftingPattern, int[] placements) {
+        for (int placement : placements) {
+            if (craftingPattern.allows(placement)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static RecipeEntry<?> createAssemblyRecipe(
             RegistryKey<Recipe<?>> id,
             ShapedRecipe oldRecipe,
-            List<AssemblyPatternItem> patterns
+            List<AssemblyPatternItem> patterns,
+            Map<LayoutKey, RawShapedRecipe> layouts
     ) {
-        return new RecipeEntry<>(id, new AssemblyRecipe(oldRecipe, patterns));
+        return new RecipeEntry<>(id, new AssemblyRecipe(oldRecipe, intern(oldRecipe, layouts), patterns));
+    }
+
+    /**
+     * Tool and armor recipes repeat the same few layouts for every material combination, so
+     * identical layouts share one {@link RawShapedRecipe}.
+     */
+    private static RawShapedRecipe intern(ShapedRecipe shapedRecipe, Map<LayoutKey, RawShapedRecipe> layouts) {
+        RawShapedRecipe raw = ((ShapedRecipeAccessor) shapedRecipe).genesis$raw();
+        List<Optional<SlotDisplay>> displays = new ArrayList<>(raw.getIngredients().size());
+
+        for (Optional<Ingredient> ingredient : raw.getIngredients()) {
+            // Custom ingredients can match on more than their display shows
+            if (ingredient.isPresent() && ingredient.get().getCustomIngredient() != null) {
+                return raw;
+            }
+
+            displays.add(ingredient.map(Ingredient::toDisplay));
+        }
+
+        return layouts.computeIfAbsent(new LayoutKey(raw.getWidth(), raw.getHeight(), displays), key -> raw);
+    }
+
+    private record PatternSnapshot(AssemblyPatternItem item, Set<Item> crafts) {
+    }
+
+    /**
+     * @param dropped whether a pattern crafts the result but none can hold the recipe, which
+     *                removes it instead of converting it
+     */
+    private record Conversion(int sourceHash, RecipeEntry<?> result, boolean dropped) {
+    }
+
+    private record LayoutKey(int width, int height, List<Optional<SlotDisplay>> ingredients) {
     }
 }
@@ -0,0 +1,23 @@
+package dev.mariany.genesis.recipe;
+
+import dev.mariany.genesis.Genesis;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeSerializer;
+import net.minecraft.recipe.SpecialCraftingRecipe;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+
+public class GenesisRecipeSerializers {
+    public static final RecipeSerializer<HealthyStewRecipe> HEALTHY_STEW = register(
+            "crafting_special_healthy_stew",
+            new SpecialCraftingRecipe.SpecialRecipeSerializer<>(HealthyStewRecipe::new)
+    );
+
+    private static <S extends RecipeSerializer<T>, T extends Recipe<?>> S register(String id, S serializer) {
+        return Registry.register(Registries.RECIPE_SERIALIZER, Genesis.id(id), serializer);
+    }
+
+    public static void bootstrap() {
+        Genesis.LOGGER.info("Registering Recipe Serializers for " + Genesis.MOD_ID);
+    }
+}
@@ -0,0 +1,136 @@
+package dev.mariany.genesis.recipe;
+
+import dev.mariany.genesis.item.GenesisItems;
+import dev.mariany.genesis.tag.GenesisTags;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.IngredientPlacement;
+import net.minecraft.recipe.RecipeSerializer;
+import net.minecraft.recipe.SpecialCraftingRecipe;
+import net.minecraft.recipe.book.CraftingRecipeCategory;
+import net.minecraft.recipe.display.RecipeDisplay;
+import net.minecraft.recipe.display.ShapelessCraftingRecipeDisplay;
+import net.minecraft.recipe.display.SlotDisplay;
+import net.minecraft.recipe.input.CraftingRecipeInput;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Two of one healthy stew content, one of another and a bowl, in any arrangement. Contents are
+ * read from the tag while matching, so one recipe covers every pair of them.
+ */
+public class HealthyStewRecipe extends SpecialCraftingRecipe {
+    @Nullable
+    private final Ingredient contents;
+    @Nullable
+    private IngredientPlacement ingredientPlacement;
+
+    public HealthyStewRecipe(CraftingRecipeCategory category) {
+        this(category, null);
+    }
+
+    /**
+     * @param contents the resolved contents tag, which lets the recipe book place and unlock the
+     *                 recipe; without it the recipe still crafts but stays out of the recipe book
+     */
+    public HealthyStewRecipe(CraftingRecipeCategory category, @Nullable Ingredient contents) {
+        super(category);
+
+        this.contents = contents;
+    }
+
+    @Override
+    public boolean matches(CraftingRecipeInput input, World world) {
+        if (input.getStackCount() != 4) {
+            return false;
+        }
+
+        boolean hasBowl = false;
+        Item primaryItem = null;
+        Item secondaryItem = null;
+
+        for (int slot = 0; slot < input.size(); slot++) {
+            ItemStack stack = input.getStackInSlot(slot);
+
+            if (stack.isEmpty()) {
+                continue;
+            }
+
+            if (!hasBowl && stack.isOf(Items.BOWL)) {
+                hasBowl = true;
+                continue;
+            }
+
+            if (!stack.isIn(GenesisTags.Items.HEALTHY_STEW_CONTENTS)) {
+                return false;
+            }
+
+            Item item = stack.getItem();
+
+            if (primaryItem == null || primaryItem == item) {
+                primaryItem = item;
+            } else if (secondaryItem == null || secondaryItem == item) {
+                secondaryItem = item;
+            } else {
+                return false;
+            }
+        }
+
+        // Three contents made of exactly two items always have one of them twice
+        return hasBowl && secondaryItem != null;
+    }
+
+    @Override
+    public ItemStack craft(CraftingRecipeInput input, RegistryWrapper.WrapperLookup registries) {
+        return GenesisItems.HEALTHY_STEW.getDefaultStack();
+    }
+
+    @Override
+    public boolean isIgnoredInRecipeBook() {
+        return this.contents == null;
+    }
+
+    @Override
+    public IngredientPlacement getIngredientPlacement() {
+        if (this.contents == null) {
+            return IngredientPlacement.NONE;
+        }
+
+        if (this.ingredientPlacement == null) {
+            this.ingredientPlacement = IngredientPlacement.forShapeless(
+                    List.of(this.contents, this.contents, this.contents, Ingredient.ofItem(Items.BOWL))
+            );
+        }
+
+        return this.ingredientPlacement;
+    }
+
+    @Override
+    public String getGroup() {
+        return "healthy_stew";
+    }
+
+    // Contents are sent as the tag and only resolved by the client when the recipe is shown
+    @Override
+    public List<RecipeDisplay> getDisplays() {
+        SlotDisplay contents = new SlotDisplay.TagSlotDisplay(GenesisTags.Items.HEALTHY_STEW_CONTENTS);
+
+        return List.of(
+                new ShapelessCraftingRecipeDisplay(
+                        List.of(contents, contents, contents, new SlotDisplay.ItemSlotDisplay(Items.BOWL)),
+                        new SlotDisplay.StackSlotDisplay(GenesisItems.HEALTHY_STEW.getDefaultStack()),
+                        new SlotDisplay.ItemSlotDisplay(Items.CRAFTING_TABLE)
+                )
+        );
+    }
+
+    @Override
+    public RecipeSerializer<HealthyStewRecipe> getSerializer() {
+        return GenesisRecipeSerializers.HEALTHY_STEW;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.mariany.genesis.recipe;
+
+import dev.mariany.genesis.entity.StewRecipeUnlockTracker;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSets;
+import net.minecraft.item.Item;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.List;
+
+/**
+ * The items that unlock the healthy stew recipe when they enter an inventory. Players remember
+ * whether they already know the recipe, so picking up stew contents only touches their recipe
+ * book until it is unlocked.
+ */
+public final class HealthyStewRecipeIndex {
+    private static volatile HealthyStewRecipeIndex instance = of(DynamicHealthyStewRecipeProvider.HEALTHY_STEW, List.of());
+
+    private final RegistryKey<Recipe<?>> recipe;
+    private final ReferenceSet<Item> contents;
+
+    private HealthyStewRecipeIndex(RegistryKey<Recipe<?>> recipe, ReferenceSet<Item> contents) {
+        this.recipe = recipe;
+        this.contents = contents;
+    }
+
+    public static HealthyStewRecipeIndex getInstance() {
+        return instance;
+    }
+
+    static void setInstance(HealthyStewRecipeIndex index) {
+        instance = index;
+    }
+
+    static HealthyStewRecipeIndex of(RegistryKey<Recipe<?>> recipe, List<Item> contents) {
+        return new HealthyStewRecipeIndex(recipe, ReferenceSets.unmodifiable(new ReferenceOpenHashSet<>(contents)));
+    }
+
+    /**
+     * Unlocks the stew recipe if {@code item} is one of its contents and the player does not know it yet.
+     */
+    public void unlockRecipeInvolving(ServerPlayerEntity player, Item item) {
+        if (!this.contents.contains(item)) {
+            return;
+        }
+
+        StewRecipeUnlockTracker tracker = (StewRecipeUnlockTracker) player;
+
+        if (tracker.genesis$hasUnlockedStewRecipe()) {
+            return;
+        }
+
+        tracker.genesis$setUnlockedStewRecipe(true);
+
+        // A recipe unlocked some other way is only looked up once
+        if (!player.getRecipeBook().isUnlocked(this.recipe)) {
+            player.unlockRecipes(List.of(this.recipe));
+        }
+    }
+}
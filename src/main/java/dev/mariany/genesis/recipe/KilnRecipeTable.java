@@ -0,0 +1,142 @@
+package dev.mariany.genesis.recipe;
+
+import dev.mariany.genesis.block.entity.custom.KilnBlockEntity;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.AbstractCookingRecipe;
+import net.minecraft.recipe.PreparedRecipes;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.SmeltingRecipe;
+import net.minecraft.recipe.input.SingleStackRecipeInput;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.registry.entry.RegistryEntry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Everything a kiln needs to know about an input item, resolved once per recipe reload.
+ * Most cooking recipes match on the item alone, so the first smelting recipe accepting an item is
+ * the one the recipe manager would have returned for it. Recipes whose ingredients also test the
+ * stack, like component-matching custom ingredients, are kept per item and tested in recipe order
+ * before the item's plain recipe.
+ */
+public final class KilnRecipeTable {
+    private static volatile KilnRecipeTable instance = new KilnRecipeTable(
+            new Reference2ObjectOpenHashMap<>(),
+            new Reference2ObjectOpenHashMap<>(),
+            DynamicRegistryManager.EMPTY
+    );
+
+    private final Reference2ObjectOpenHashMap<Item, Entry> entries;
+    private final Reference2ObjectOpenHashMap<Item, List<RecipeEntry<SmeltingRecipe>>> testedRecipes;
+    private final RegistryWrapper.WrapperLookup registries;
+
+    private KilnRecipeTable(
+            Reference2ObjectOpenHashMap<Item, Entry> entries,
+            Reference2ObjectOpenHashMap<Item, List<RecipeEntry<SmeltingRecipe>>> testedRecipes,
+            RegistryWrapper.WrapperLookup registries
+    ) {
+        this.entries = entries;
+        this.testedRecipes = testedRecipes;
+        this.registries = registries;
+    }
+
+    public static KilnRecipeTable getInstance() {
+        return instance;
+    }
+
+    public static void rebuild(PreparedRecipes preparedRecipes, RegistryWrapper.WrapperLookup registries) {
+        Reference2ObjectOpenHashMap<Item, Entry> entries = new Reference2ObjectOpenHashMap<>();
+        Reference2ObjectOpenHashMap<Item, List<RecipeEntry<SmeltingRecipe>>> testedRecipes = new Reference2ObjectOpenHashMap<>();
+
+        for (RecipeEntry<SmeltingRecipe> recipeEntry : preparedRecipes.getAll(RecipeType.SMELTING)) {
+            SmeltingRecipe recipe = recipeEntry.value();
+            int cookTime = getCookTime(recipe);
+            boolean requiresTesting = recipe.ingredient().requiresTesting();
+
+            recipe.ingredient().getMatchingItems().map(RegistryEntry::value).forEach(item -> {
+                // A plain recipe always matches its items, so nothing after it is ever reached
+                if (entries.containsKey(item)) {
+                    return;
+                }
+
+                if (requiresTesting) {
+                    testedRecipes.computeIfAbsent(item, key -> new ObjectArrayList<>()).add(recipeEntry);
+                } else {
+                    ItemStack output = recipe.craft(new SingleStackRecipeInput(item.getDefaultStack()), registries);
+
+                    entries.put(item, new Entry(recipeEntry, output, cookTime));
+                }
+            });
+        }
+
+        entries.trim();
+        testedRecipes.trim();
+
+        instance = new KilnRecipeTable(entries, testedRecipes, registries);
+    }
+
+    private static int getCookTime(AbstractCookingRecipe recipe) {
+        return Math.max(recipe.getCookingTime(), KilnBlockEntity.DEFAULT_COOK_TICKS);
+    }
+
+    @Nullable
+    public Entry get(ItemStack stack) {
+        List<RecipeEntry<SmeltingRecipe>> candidates = this.testedRecipes.get(stack.getItem());
+
+        if (candidates != null) {
+            for (RecipeEntry<SmeltingRecipe> candidate : candidates) {
+                SmeltingRecipe recipe = candidate.value();
+
+                if (recipe.ingredient().test(stack)) {
+                    ItemStack output = recipe.craft(new SingleStackRecipeInput(stack), this.registries);
+
+                    return new Entry(candidate, output, getCookTime(recipe));
+                }
+            }
+        }
+
+        return this.entries.get(stack.getItem());
+    }
+
+    /**
+     * Whether {@code item} has a recipe that matches it regardless of its components.
+     */
+    public boolean isSmeltable(Item item) {
+        return this.entries.containsKey(item);
+    }
+
+    public boolean isSmeltable(ItemStack stack) {
+        if (this.entries.containsKey(stack.getItem())) {
+            return true;
+        }
+
+        List<RecipeEntry<SmeltingRecipe>> candidates = this.testedRecipes.get(stack.getItem());
+
+        if (candidates != null) {
+            for (RecipeEntry<SmeltingRecipe> candidate : candidates) {
+                if (candidate.value().ingredient().test(stack)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Whether {@link #get} has to test the whole stack for {@code item} and crafts a new output
+     * each time it matches.
+     */
+    public boolean requiresTesting(Item item) {
+        return this.testedRecipes.containsKey(item);
+    }
+
+    public record Entry(RecipeEntry<? extends AbstractCookingRecipe> recipe, ItemStack output, int cookTime) {
+    }
+}
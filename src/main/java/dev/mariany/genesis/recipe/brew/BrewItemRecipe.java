@@ -1,6 +1,31 @@
 package dev.mariany.genesis.recipe.brew;
 
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.item.Item;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
 
 public record BrewItemRecipe(Item from, Item ingredient, Item to) {
+    public static final Codec<BrewItemRecipe> CODEC = RecordCodecBuilder.create(
+            instance -> instance.group(
+                            Registries.ITEM.getCodec().fieldOf("from").forGetter(BrewItemRecipe::from),
+                            Registries.ITEM.getCodec().fieldOf("ingredient").forGetter(BrewItemRecipe::ingredient),
+                            Registries.ITEM.getCodec().fieldOf("to").forGetter(BrewItemRecipe::to)
+                    )
+                    .apply(instance, BrewItemRecipe::new)
+    );
+
+    public static final PacketCodec<RegistryByteBuf, BrewItemRecipe> PACKET_CODEC = PacketCodec.tuple(
+            PacketCodecs.registryValue(RegistryKeys.ITEM),
+            BrewItemRecipe::from,
+            PacketCodecs.registryValue(RegistryKeys.ITEM),
+            BrewItemRecipe::ingredient,
+            PacketCodecs.registryValue(RegistryKeys.ITEM),
+            BrewItemRecipe::to,
+            BrewItemRecipe::new
+    );
 }
@@ -0,0 +1,42 @@
+package dev.mariany.genesis.recipe.brew;
+
+import dev.mariany.genesis.Genesis;
+import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
+import net.minecraft.resource.JsonDataLoader;
+import net.minecraft.resource.ResourceFinder;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads brewing item recipes from {@code data/<namespace>/brewing_item_recipe}, ordered by id so
+ * the first recipe for an input and ingredient wins on every reload.
+ */
+public class BrewItemRecipeLoader extends JsonDataLoader<BrewItemRecipe> implements IdentifiableResourceReloadListener {
+    public static final Identifier ID = Genesis.id("brewing_item_recipe");
+
+    public BrewItemRecipeLoader() {
+        super(BrewItemRecipe.CODEC, ResourceFinder.json("brewing_item_recipe"));
+    }
+
+    @Override
+    protected void apply(Map<Identifier, BrewItemRecipe> prepared, ResourceManager manager, Profiler profiler) {
+        List<BrewItemRecipe> recipes = prepared.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .toList();
+
+        GenesisBrewingRecipes.setBrewItemRecipes(recipes);
+
+        Genesis.LOGGER.info("Loaded {} brewing item recipes", recipes.size());
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
+}
@@ -1,43 +1,134 @@
 package dev.mariany.genesis.recipe.brew;
 
 import dev.mariany.genesis.Genesis;
-import dev.mariany.genesis.item.GenesisItems;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceMap;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceMaps;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSets;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
 import net.fabricmc.fabric.api.registry.FabricBrewingRecipeRegistryBuilder;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.item.Item;
-import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 public class GenesisBrewingRecipes {
-    private static final List<BrewItemRecipe> brewItemRecipes = new ArrayList<>();
+    private static final CompiledRecipes EMPTY = compile(List.of());
+    private static volatile CompiledRecipes compiled = EMPTY;
+    // Synced from the server; the integrated server shares these statics, so it is kept apart
+    @Nullable
+    private static volatile CompiledRecipes clientCompiled;
+    @Nullable
+    private static volatile MinecraftServer server;
 
-    static {
-        add(Items.HONEY_BOTTLE, Items.GLISTERING_MELON_SLICE, GenesisItems.ENCHANTED_HONEY_BOTTLE);
-        add(Items.HONEY_BOTTLE, Items.FERMENTED_SPIDER_EYE, Items.OMINOUS_BOTTLE);
+    private static CompiledRecipes compile(List<BrewItemRecipe> brewItemRecipes) {
+        ReferenceOpenHashSet<Item> bypasses = new ReferenceOpenHashSet<>();
+        ReferenceOpenHashSet<Item> ingredients = new ReferenceOpenHashSet<>();
+        Long2ReferenceOpenHashMap<Item> results = new Long2ReferenceOpenHashMap<>();
+
+        for (BrewItemRecipe brewItemRecipe : brewItemRecipes) {
+            bypasses.add(brewItemRecipe.from());
+            bypasses.add(brewItemRecipe.to());
+            ingredients.add(brewItemRecipe.ingredient());
+            // Earlier recipes win, like the linear scan this replaces
+            results.putIfAbsent(getKey(brewItemRecipe.from(), brewItemRecipe.ingredient()), brewItemRecipe.to());
+        }
+
+        return new CompiledRecipes(
+                brewItemRecipes,
+                ReferenceSets.unmodifiable(bypasses),
+                ReferenceSets.unmodifiable(ingredients),
+                Long2ReferenceMaps.unmodifiable(results)
+        );
+    }
+
+    private static long getKey(Item from, Item ingredient) {
+        return (long) Registries.ITEM.getRawId(from) << 32 | Registries.ITEM.getRawId(ingredient) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Replaces every brewing item recipe the server loaded from data packs.
+     */
+    public static void setBrewItemRecipes(List<BrewItemRecipe> brewItemRecipes) {
+        compiled = compile(List.copyOf(brewItemRecipes));
     }
 
-    private static void add(Item from, Item ingredient, Item to) {
-        brewItemRecipes.add(new BrewItemRecipe(from, ingredient, to));
+    /**
+     * Replaces the brewing item recipes the server synced to this client, or clears them with
+     * {@code null} once it disconnects.
+     */
+    public static void setClientBrewItemRecipes(@Nullable List<BrewItemRecipe> brewItemRecipes) {
+        clientCompiled = brewItemRecipes == null ? null : compile(List.copyOf(brewItemRecipes));
     }
 
     public static List<BrewItemRecipe> getBrewItemRecipes() {
-        return brewItemRecipes.stream().toList();
+        return compiled.recipes();
     }
 
-    public static List<Item> getPotionBypasses() {
-        return brewItemRecipes.stream().flatMap(brewItemRecipe -> Stream.of(
-                        brewItemRecipe.from(),
-                        brewItemRecipe.to()
-                )
-        ).toList();
+    public static boolean isPotionBypass(Item item) {
+        return current().potionBypasses().contains(item);
+    }
+
+    public static boolean isIngredient(Item item) {
+        return current().ingredients().contains(item);
+    }
+
+    @Nullable
+    public static Item getBrewResult(Item from, Item ingredient) {
+        return current().results().get(getKey(from, ingredient));
+    }
+
+    /**
+     * Brewing code runs without a world on both sides, so the side is told apart by thread: the
+     * server, dedicated or integrated, reads its own recipes and every other thread of a client
+     * reads what the server it is connected to synced.
+     */
+    private static CompiledRecipes current() {
+        if (FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT && !isOnServerThread()) {
+            CompiledRecipes client = clientCompiled;
+            return client == null ? EMPTY : client;
+        }
+
+        return compiled;
+    }
+
+    private static boolean isOnServerThread() {
+        MinecraftServer server = GenesisBrewingRecipes.server;
+        return server != null && server.isOnThread();
     }
 
     public static void registerBrewingRecipes() {
         Genesis.LOGGER.info("Registering Brewing Recipes for " + Genesis.MOD_ID);
 
-        FabricBrewingRecipeRegistryBuilder.BUILD.register(builder -> brewItemRecipes.forEach(
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new BrewItemRecipeLoader());
+
+        ServerLifecycleEvents.SERVER_STARTING.register(startingServer -> server = startingServer);
+        ServerLifecycleEvents.SERVER_STOPPED.register(stoppedServer -> server = null);
+
+        // Results are keyed by raw ids, which change when a client syncs registries with a server
+        RegistryIdRemapCallback.event(Registries.ITEM).register(state -> {
+            setBrewItemRecipes(getBrewItemRecipes());
+
+            CompiledRecipes client = clientCompiled;
+
+            if (client != null) {
+                setClientBrewItemRecipes(client.recipes());
+            }
+        });
+
+        // Data packs are loaded before the brewing registry of a server is built; later reloads are
+        // picked up by the lookups above, which the brewing mixins consult first. Reading through
+        // current() keeps these on the same side as the assertPotion bypass that lets them in
+        FabricBrewingRecipeRegistryBuilder.BUILD.register(builder -> current().recipes().forEach(
                         brewItemRecipe -> builder.registerItemRecipe(
                                 brewItemRecipe.from(),
                                 brewItemRecipe.ingredient(),
@@ -46,4 +137,12 @@ public class GenesisBrewingRecipes {
                 )
         );
     }
+
+    private record CompiledRecipes(
+            List<BrewItemRecipe> recipes,
+            ReferenceSet<Item> potionBypasses,
+            ReferenceSet<Item> ingredients,
+            Long2ReferenceMap<Item> results
+    ) {
+    }
 }
@@ -2,8 +2,9 @@ package dev.mariany.genesis.screen;
 
 import dev.mariany.genesis.block.GenesisBlocks;
 import dev.mariany.genesis.item.custom.AssemblyPatternItem;
+import dev.mariany.genesis.network.GenesisNetworking;
+import dev.mariany.genesis.recipe.AssemblyRecipeIndex;
 import dev.mariany.genesis.recipe.CraftingPattern;
-import dev.mariany.genesis.recipe.GenesisRecipeTypes;
 import dev.mariany.genesis.screen.slot.AssemblyInputSlot;
 import dev.mariany.genesis.screen.slot.AssemblyPatternSlot;
 import dev.mariany.genesis.sound.GenesisSoundEvents;
@@ -30,6 +31,7 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -44,6 +46,7 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
     private final AssemblyPatternSlot assemblyPatternSlot;
     private final CraftingResultSlot resultSlot;
     private boolean filling;
+    private boolean resultDirty;
 
     public AssemblyScreenHandler(int syncId, PlayerInventory playerInventory) {
         this(syncId, playerInventory, ScreenHandlerContext.EMPTY);
@@ -88,40 +91,92 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
         if (player instanceof ServerPlayerEntity serverPlayer) {
             CraftingRecipeInput craftingRecipeInput = craftingInventory.createRecipeInput();
             ItemStack result = ItemStack.EMPTY;
-            Optional<RecipeEntry<CraftingRecipe>> optionalRecipeEntry = world
-                    .getServer()
-                    .getRecipeManager()
-                    .getFirstMatch(
-                            GenesisRecipeTypes.ASSEMBLY,
-                            craftingRecipeInput,
-                            world,
-                            recipe
-                    );
+            // What a client holding the synced recipe index already shows, derived exactly like
+            // predictResult: without a hint, so a different recipe matching the same grid is caught
+            ItemStack predicted = ItemStack.EMPTY;
+            boolean predicting = GenesisNetworking.canPredictAssemblyResults(serverPlayer);
+            AssemblyRecipeIndex index = AssemblyRecipeIndex.getInstance();
+            Optional<RecipeEntry<CraftingRecipe>> optionalRecipeEntry = this.findRecipe(
+                    index,
+                    craftingRecipeInput,
+                    world,
+                    recipe
+            );
 
             if (optionalRecipeEntry.isPresent()) {
                 RecipeEntry<CraftingRecipe> recipeEntry = optionalRecipeEntry.get();
-                CraftingRecipe craftingRecipe = recipeEntry.value();
+                boolean shouldCraft = this.craftingResultInventory.shouldCraftRecipe(serverPlayer, recipeEntry);
 
-                if (this.craftingResultInventory.shouldCraftRecipe(serverPlayer, recipeEntry)) {
-                    ItemStack stack = craftingRecipe.craft(craftingRecipeInput, world.getRegistryManager());
-                    boolean stackEnabled = stack.isItemEnabled(world.getEnabledFeatures());
-                    boolean assemblyCanCraft = this.getCrafts().map(stack::isIn).orElse(false);
+                // Without a hint this is the same lookup the client makes
+                if (shouldCraft || predicting && recipe == null) {
+                    ItemStack crafted = this.craftResult(recipeEntry.value(), craftingRecipeInput, world);
 
-                    if (stackEnabled && assemblyCanCraft) {
-                        result = stack;
-                    }
+                    result = shouldCraft ? crafted : ItemStack.EMPTY;
+                    predicted = recipe == null ? crafted : ItemStack.EMPTY;
                 }
             }
 
+            if (predicting && recipe != null) {
+                predicted = this.findRecipe(index, craftingRecipeInput, world, null)
+                        .map(recipeEntry -> this.craftResult(recipeEntry.value(), craftingRecipeInput, world))
+                        .orElse(ItemStack.EMPTY);
+            }
+
+            boolean predictedCorrectly = predicting && ItemStack.areEqual(predicted, result);
+
+            if (ItemStack.areEqual(this.craftingResultInventory.getStack(0), result) && (!predicting || predictedCorrectly)) {
+                return;
+            }
+
             this.craftingResultInventory.setStack(0, result);
             this.setReceivedStack(10, result);
 
-            serverPlayer.networkHandler.sendPacket(
-                    new ScreenHandlerSlotUpdateS2CPacket(this.syncId, this.nextRevision(), 10, result)
-            );
+            if (!predictedCorrectly) {
+                serverPlayer.networkHandler.sendPacket(
+                        new ScreenHandlerSlotUpdateS2CPacket(this.syncId, this.nextRevision(), 10, result)
+                );
+            }
         }
     }
 
+    /**
+     * Shows the result the server is going to send right away, so it does not lag behind the grid
+     * by a round trip. The server keeps the final say and only sends the slot when it disagrees.
+     */
+    private void predictResult() {
+        AssemblyRecipeIndex index = AssemblyRecipeIndex.getClientInstance();
+
+        if (index == null) {
+            return;
+        }
+
+        World world = this.player.getWorld();
+        CraftingRecipeInput craftingRecipeInput = this.craftingInventory.createRecipeInput();
+        ItemStack result = this.findRecipe(index, craftingRecipeInput, world, null)
+                .map(recipeEntry -> this.craftResult(recipeEntry.value(), craftingRecipeInput, world))
+                .orElse(ItemStack.EMPTY);
+
+        this.craftingResultInventory.setStack(0, result);
+    }
+
+    private Optional<RecipeEntry<CraftingRecipe>> findRecipe(
+            AssemblyRecipeIndex index,
+            CraftingRecipeInput craftingRecipeInput,
+            World world,
+            @Nullable RecipeEntry<CraftingRecipe> recipe
+    ) {
+        return this.getAssemblyPatternItem()
+                .flatMap(pattern -> index.getFirstMatch(pattern, craftingRecipeInput, world, recipe));
+    }
+
+    private ItemStack craftResult(CraftingRecipe craftingRecipe, CraftingRecipeInput craftingRecipeInput, World world) {
+        ItemStack stack = craftingRecipe.craft(craftingRecipeInput, world.getRegistryManager());
+        boolean stackEnabled = stack.isItemEnabled(world.getEnabledFeatures());
+        boolean assemblyCanCraft = this.getCrafts().map(stack::isIn).orElse(false);
+
+        return stackEnabled && assemblyCanCraft ? stack : ItemStack.EMPTY;
+    }
+
     private void dropLockedInputs() {
         for (int i = 0; i < this.craftingInventory.size(); i++) {
             if (this.isInputSlotDisabled(i)) {
@@ -177,19 +232,11 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
                 assemblyPatternInventory.getStack(0).decrement(1);
                 assemblyPatternInventory.markDirty();
 
+                // The next result has to be in place before a quick move checks the slot again
+                AssemblyScreenHandler.this.flushResult();
+
                 if (player instanceof ServerPlayerEntity serverPlayer) {
-                    AssemblyScreenHandler.this.context.run(
-                            (world, pos) ->
-                                    serverPlayer.networkHandler.sendPacket(new PlaySoundFromEntityS2CPacket(
-                                                    GenesisSoundEvents.BLOCK_ASSEMBLY_TABLE_USE,
-                                                    SoundCategory.BLOCKS,
-                                                    serverPlayer,
-                                                    1,
-                                                    MathHelper.nextBetween(world.getRandom(), 1.4F, 0.9F),
-                                                    world.getRandom().nextLong()
-                                            )
-                                    )
-                    );
+                    AssemblyScreenHandler.this.playCraftSound(serverPlayer);
                 }
             }
         };
@@ -199,6 +246,111 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
         return craftingResultSlot;
     }
 
+    private void playCraftSound(ServerPlayerEntity serverPlayer) {
+        this.context.run(
+                (world, pos) ->
+                        serverPlayer.networkHandler.sendPacket(new PlaySoundFromEntityS2CPacket(
+                                        GenesisSoundEvents.BLOCK_ASSEMBLY_TABLE_USE,
+                                        SoundCategory.BLOCKS,
+                                        serverPlayer,
+                                        1,
+                                        MathHelper.nextBetween(world.getRandom(), 1.4F, 0.9F),
+                                        world.getRandom().nextLong()
+                                )
+                        )
+        );
+    }
+
+    /**
+     * Crafts as many results as the grid, the pattern stack and the player's inventory allow in a
+     * single pass. Returns false when only one craft fits or the recipe leaves remainders behind,
+     * in which case the regular one-at-a-time quick move takes over.
+     */
+    private boolean craftAll(ServerPlayerEntity serverPlayer) {
+        ItemStack result = this.craftingResultInventory.getStack(0);
+        RecipeEntry<?> recipeEntry = this.craftingResultInventory.getLastRecipe();
+
+        if (result.isEmpty() || !(recipeEntry != null && recipeEntry.value() instanceof CraftingRecipe craftingRecipe)) {
+            return false;
+        }
+
+        CraftingRecipeInput craftingRecipeInput = this.craftingInventory.createRecipeInput();
+
+        for (ItemStack remainder : craftingRecipe.getRecipeRemainders(craftingRecipeInput)) {
+            if (!remainder.isEmpty()) {
+                return false;
+            }
+        }
+
+        int crafts = this.assemblyPatternInventory.getStack(0).getCount();
+
+        for (int i = 0; i < this.craftingInventory.size(); i++) {
+            ItemStack inputStack = this.craftingInventory.getStack(i);
+
+            if (!inputStack.isEmpty()) {
+                crafts = Math.min(crafts, inputStack.getCount());
+            }
+        }
+
+        crafts = Math.min(crafts, this.getPlayerInventorySpace(result) / result.getCount());
+
+        if (crafts <= 1) {
+            return false;
+        }
+
+        ItemStack crafted = result.copy();
+        int craftedCount = result.getCount() * crafts;
+
+        crafted.onCraftByPlayer(serverPlayer, craftedCount);
+        this.craftingResultInventory.unlockLastRecipe(serverPlayer, this.craftingInventory.getHeldStacks());
+
+        for (int i = 0; i < this.craftingInventory.size(); i++) {
+            if (!this.craftingInventory.getStack(i).isEmpty()) {
+                this.craftingInventory.removeStack(i, crafts);
+            }
+        }
+
+        this.craftingResultInventory.setStack(0, ItemStack.EMPTY);
+        this.resultDirty = true;
+
+        // insertItem fills at most one empty slot per call, so hand it one full stack at a time
+        while (craftedCount > 0) {
+            ItemStack stack = crafted.copyWithCount(Math.min(craftedCount, crafted.getMaxCount()));
+            craftedCount -= stack.getCount();
+
+            this.insertItem(stack, 11, 47, true);
+
+            if (!stack.isEmpty()) {
+                serverPlayer.dropItem(stack, false);
+            }
+        }
+
+        // An emptied pattern hands the leftover inputs back, so the result goes in first
+        this.assemblyPatternInventory.getStack(0).decrement(crafts);
+        this.assemblyPatternInventory.markDirty();
+
+        this.playCraftSound(serverPlayer);
+
+        return true;
+    }
+
+    private int getPlayerInventorySpace(ItemStack stack) {
+        int space = 0;
+
+        for (int i = 11; i < 47; i++) {
+            Slot slot = this.slots.get(i);
+            ItemStack slotStack = slot.getStack();
+
+            if (slotStack.isEmpty()) {
+                space += slot.getMaxItemCount(stack);
+            } else if (ItemStack.areItemsAndComponentsEqual(slotStack, stack)) {
+                space += Math.max(slot.getMaxItemCount(slotStack) - slotStack.getCount(), 0);
+            }
+        }
+
+        return space;
+    }
+
     public Optional<AssemblyPatternItem> getAssemblyPatternItem() {
         if (this.assemblyPatternSlot.getStack().getItem() instanceof AssemblyPatternItem assemblyPatternItem) {
             return Optional.of(assemblyPatternItem);
@@ -241,9 +393,23 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
         return RecipeBookType.CRAFTING;
     }
 
+    /**
+     * On the server this only marks the result as stale. Every grid mutation ends up here, so the
+     * match is deferred to {@link #flushResult()} and runs once per batch of changes instead of once
+     * per slot. The client predicts the result immediately instead.
+     */
     @Override
     public void onContentChanged(Inventory inventory) {
-        if (!this.filling) {
+        if (this.player.getWorld().isClient) {
+            this.predictResult();
+        } else if (!this.filling) {
+            this.resultDirty = true;
+        }
+    }
+
+    private void flushResult() {
+        if (this.resultDirty) {
+            this.resultDirty = false;
             this.context.run((world, pos) -> {
                 if (world instanceof ServerWorld serverWorld) {
                     updateResult(serverWorld, null);
@@ -252,6 +418,19 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
         }
     }
 
+    @Override
+    public void sendContentUpdates() {
+        // Grid slots go out first, so a client re-predicting from them is corrected by the result
+        super.sendContentUpdates();
+        this.flushResult();
+    }
+
+    @Override
+    public void updateToClient() {
+        this.flushResult();
+        super.updateToClient();
+    }
+
     @Override
     public void onInputSlotFillStart() {
         this.filling = true;
@@ -260,6 +439,7 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
     @Override
     public void onInputSlotFillFinish(ServerWorld world, RecipeEntry<CraftingRecipe> recipe) {
         this.filling = false;
+        this.resultDirty = false;
         updateResult(world, recipe);
     }
 
@@ -282,6 +462,14 @@ public class AssemblyScreenHandler extends AbstractCraftingScreenHandler {
         ItemStack originalStack;
         Slot selectedSlot = this.slots.get(index);
 
+        if (index == 10) {
+            this.flushResult();
+
+            if (player instanceof ServerPlayerEntity serverPlayer && this.craftAll(serverPlayer)) {
+                return ItemStack.EMPTY;
+            }
+        }
+
         if (!selectedSlot.hasStack()) {
             return ItemStack.EMPTY;
         }
@@ -1,5 +1,6 @@
 package dev.mariany.genesis.screen;
 
+import dev.mariany.genesis.recipe.KilnRecipeTable;
 import dev.mariany.genesis.screen.slot.KilnOutputSlot;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
@@ -58,7 +59,11 @@ public class KilnScreenHandler extends AbstractRecipeScreenHandler {
     }
 
     protected boolean isSmeltable(ItemStack itemStack) {
-        return this.recipePropertySet.canUse(itemStack);
+        if (this.world.isClient) {
+            return this.recipePropertySet.canUse(itemStack);
+        }
+
+        return KilnRecipeTable.getInstance().isSmeltable(itemStack);
     }
 
     public float getCookProgress() {